@@ -0,0 +1,75 @@
+package io.induct.apiary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Injector;
+import com.ning.http.client.AsyncHttpClient;
+import io.induct.apiary.nasa.ApodImage;
+import io.induct.apiary.nasa.NASA;
+import io.induct.http.HttpClient;
+import io.induct.http.Response;
+import io.induct.http.builders.RequestBuilder;
+import io.undertow.Undertow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per call overhead of a generated client compared to the same call written by hand with {@link RequestBuilder},
+ * against the mock NASA API running in process.
+ *
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class ApiCallBenchmark {
+
+    private Undertow server;
+    private AsyncHttpClient ningClient;
+    private NASA nasa;
+    private HttpClient httpClient;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        server = BenchmarkFixture.startMockApi();
+        ningClient = new AsyncHttpClient();
+        Injector injector = BenchmarkFixture.injector(ningClient);
+        nasa = injector.getInstance(Apiary.class).generateClient(NASA.class, "local");
+        httpClient = injector.getInstance(HttpClient.class);
+        objectMapper = injector.getInstance(ObjectMapper.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ningClient.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public ApodImage generatedClient() {
+        return nasa.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY");
+    }
+
+    @Benchmark
+    public ApodImage handWrittenRequest() throws IOException {
+        try (Response response = new RequestBuilder(httpClient)
+                .withUrl("http://localhost:9090/planetary/apod")
+                .withParams(params -> params.put("api_key", "DEMO_KEY"))
+                .build()
+                .get()) {
+            return objectMapper.readValue(response.getResponseBody().get(), ApodImage.class);
+        }
+    }
+}
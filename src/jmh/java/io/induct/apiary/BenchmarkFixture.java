@@ -0,0 +1,64 @@
+package io.induct.apiary;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.multibindings.Multibinder;
+import com.ning.http.client.AsyncHttpClient;
+import io.induct.apiary.nasa.NasaApodMockApi;
+import io.induct.daniel.ioc.guice.DanielModule;
+import io.induct.http.HttpClient;
+import io.induct.http.ning.NingHttpClient;
+import io.undertow.Undertow;
+import io.undertow.server.handlers.PathHandler;
+
+/**
+ * Wiring shared by the benchmarks, matching that of the tests.
+ *
+ * @since 18.10.2026
+ */
+final class BenchmarkFixture {
+
+    private BenchmarkFixture() {}
+
+    /**
+     * Starts the mock NASA API in process, at the root of the <code>local</code> environment of
+     * {@link io.induct.apiary.nasa.NASA}.
+     */
+    static Undertow startMockApi() {
+        Undertow undertow = Undertow.builder()
+                .addHttpListener(9090, "localhost")
+                .setHandler(new PathHandler()
+                        .addPrefixPath("/planetary/apod", new NasaApodMockApi()))
+                .build();
+        undertow.start();
+        return undertow;
+    }
+
+    static Injector injector(AsyncHttpClient ningClient) {
+        return Guice.createInjector(new DanielModule(), new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(HttpClient.class).toInstance(new NingHttpClient(ningClient));
+                bind(AsyncHttpClient.class).toInstance(ningClient);
+                bind(Apiary.class);
+                Multibinder<Module> jacksonModules = Multibinder.newSetBinder(binder(), Module.class);
+                jacksonModules.addBinding().toInstance(new ParameterNamesModule());
+            }
+        });
+    }
+
+    static Injector injector(Transport transport) {
+        return Guice.createInjector(new DanielModule(), new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(Transport.class).toInstance(transport);
+                bind(Apiary.class);
+                Multibinder<Module> jacksonModules = Multibinder.newSetBinder(binder(), Module.class);
+                jacksonModules.addBinding().toInstance(new ParameterNamesModule());
+            }
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package io.induct.apiary;
+
+import com.google.inject.Injector;
+import com.ning.http.client.AsyncHttpClient;
+import io.induct.apiary.nasa.NASA;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link Apiary#generateClient(Class, String)} with both {@link ClientGenerator} backends, both when the
+ * client class is generated from scratch and when it has already been generated.
+ *
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class ClientGenerationBenchmark {
+
+    @Param({"bytecode", "source"})
+    public String generator;
+
+    private AsyncHttpClient ningClient;
+    private Injector injector;
+    private Apiary warmApiary;
+
+    @Setup
+    public void setUp() {
+        ningClient = new AsyncHttpClient();
+        injector = BenchmarkFixture.injector(ningClient);
+        warmApiary = new Apiary(injector, newGenerator());
+        warmApiary.generateClient(NASA.class, "local");
+    }
+
+    @TearDown
+    public void tearDown() {
+        ningClient.close();
+    }
+
+    private ClientGenerator newGenerator() {
+        return generator.equals("source") ? new SourceClientGenerator() : new BytecodeClientGenerator();
+    }
+
+    /**
+     * Generates, loads and instantiates the client class in a new Apiary, as on the first use of an interface.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 50)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public NASA cold() {
+        return new Apiary(injector, newGenerator()).generateClient(NASA.class, "local");
+    }
+
+    /**
+     * Instantiates and injects an already generated client class.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public NASA warm() {
+        return warmApiary.generateClient(NASA.class, "local");
+    }
+}
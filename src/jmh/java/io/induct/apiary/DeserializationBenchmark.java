@@ -0,0 +1,66 @@
+package io.induct.apiary;
+
+import com.ning.http.client.AsyncHttpClient;
+import io.induct.apiary.nasa.ApodImage;
+import io.induct.apiary.nasa.NASA;
+import io.undertow.Undertow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Throughput of calls whose responses are lists of increasing numbers of APODs, deserialized either in full or
+ * streamed one element at a time. Run with the GC profiler to see the allocation rate per call.
+ *
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class DeserializationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int apods;
+
+    private Undertow server;
+    private AsyncHttpClient ningClient;
+    private NASA nasa;
+
+    @Setup
+    public void setUp() {
+        server = BenchmarkFixture.startMockApi();
+        ningClient = new AsyncHttpClient();
+        nasa = BenchmarkFixture.injector(ningClient).getInstance(Apiary.class).generateClient(NASA.class, "local");
+    }
+
+    @TearDown
+    public void tearDown() {
+        ningClient.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public List<ApodImage> list() {
+        return nasa.listRandomApods(apods, "DEMO_KEY");
+    }
+
+    @Benchmark
+    public void stream(Blackhole blackhole) {
+        try (Stream<ApodImage> elements = nasa.randomApods(apods, "DEMO_KEY")) {
+            elements.forEach(blackhole::consume);
+        }
+    }
+}
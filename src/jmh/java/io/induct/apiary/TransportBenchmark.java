@@ -0,0 +1,77 @@
+package io.induct.apiary;
+
+import com.ning.http.client.AsyncHttpClient;
+import io.induct.apiary.nasa.ApodImage;
+import io.induct.apiary.nasa.NASA;
+import io.induct.http.ning.NingHttpClient;
+import io.undertow.Undertow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of generated clients over each built-in {@link Transport}, with concurrent blocking and asynchronous calls
+ * against the mock NASA API running in process. The <code>jdk</code> transport requires Java 11 or later.
+ *
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+@Fork(1)
+public class TransportBenchmark {
+
+    @Param({"induct", "ning", "jdk"})
+    public String transport;
+
+    private Undertow server;
+    private AsyncHttpClient ningClient;
+    private NASA nasa;
+
+    @Setup
+    public void setUp() {
+        server = BenchmarkFixture.startMockApi();
+        ningClient = new AsyncHttpClient();
+        Transport bound;
+        switch (transport) {
+            case "induct":
+                bound = new InductTransport(new NingHttpClient(ningClient));
+                break;
+            case "ning":
+                bound = new NingTransport(ningClient);
+                break;
+            default:
+                bound = new JdkHttpTransport();
+        }
+        nasa = BenchmarkFixture.injector(bound).getInstance(Apiary.class).generateClient(NASA.class, "local");
+    }
+
+    @TearDown
+    public void tearDown() {
+        ningClient.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public ApodImage blockingCall() {
+        return nasa.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY");
+    }
+
+    @Benchmark
+    public ApodImage asyncCall() throws InterruptedException, ExecutionException {
+        return nasa.apodAsync(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY").get();
+    }
+}
@@ -0,0 +1,38 @@
+package io.induct.apiary;
+
+/**
+ * {@link ClientEnvironment} bound to a client for sending calls: its primary root resolved, and its
+ * {@link LoadBalancer} if it has more than one root. Clients replace their active environment as a whole, so a call
+ * always sees a consistent one.
+ *
+ * @since 18.10.2026
+ */
+final class ActiveEnvironment {
+    private final ClientEnvironment config;
+    private final String root;
+    private final LoadBalancer balancer;
+
+    ActiveEnvironment(Class<?> apiDefiningInterface, ClientEnvironment config) {
+        this.config = config;
+        this.root = config.getRoots().get(0);
+        this.balancer = LoadBalancer.of(apiDefiningInterface, config).orElse(null);
+    }
+
+    ClientEnvironment getConfig() {
+        return config;
+    }
+
+    /**
+     * @return Root of calls which are not load balanced.
+     */
+    String getRoot() {
+        return root;
+    }
+
+    /**
+     * @return Balancer of the environment, or <code>null</code> if it has only one root.
+     */
+    LoadBalancer getBalancer() {
+        return balancer;
+    }
+}
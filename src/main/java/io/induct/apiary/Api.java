@@ -21,4 +21,129 @@ public @interface Api {
      */
     String path();
 
+    /**
+     * HTTP method of the API. Parameters are sent as query parameters regardless of the method, a request body can be
+     * declared with {@link Body}. Defaults to <code>GET</code>.
+     */
+    HttpMethod method() default HttpMethod.GET;
+
+    /**
+     * Type the body of unsuccessful responses is deserialized to. When declared, the {@link ApiCallException} thrown by
+     * unsuccessful calls carries the error body, which methods returning {@link ApiResponse} get in
+     * {@link ApiResponse#getError(Class)} instead.
+     */
+    Class<?> errorType() default Void.class;
+
+    /**
+     * Whether unsuccessful calls should return <code>null</code>, or an empty stream or iterator, instead of throwing
+     * {@link ApiCallException}. Disabled by default. Doesn't apply to methods returning {@link ApiResponse}, which
+     * receive every response.
+     *
+     * @since 18.10.2026
+     */
+    boolean nullOnFailure() default false;
+
+    /**
+     * Opt-in batching of concurrent calls into one upstream request. Disabled by default.
+     */
+    Batch batch() default @Batch(param = "");
+
+    /**
+     * Opt-in caching of responses in the bound {@link ResponseCache}. Disabled by default.
+     */
+    Cache cache() default @Cache(enabled = false);
+
+    /**
+     * Whether identical concurrent calls, having the same URL, parameters and headers, should share a single upstream
+     * call. All callers receive the same deserialized result, so this should only be enabled for idempotent APIs with
+     * response types callers don't modify. Disabled by default.
+     */
+    boolean coalesce() default false;
+
+    /**
+     * Limits for calls of this API, applied in addition to {@link Client#rateLimit()}. Unlimited by default.
+     */
+    RateLimit rateLimit() default @RateLimit;
+
+    /**
+     * Deadline, retry and hedging policy for calls of this API, replacing {@link Client#policy()}. Disabled by default.
+     */
+    CallPolicy policy() default @CallPolicy;
+
+    /**
+     * Interceptors of calls of this API, run after the ones of {@link Client#interceptors()}.
+     */
+    Class<? extends ApiInterceptor>[] interceptors() default {};
+
+    /**
+     * Media types of the {@link DataFormat data formats} responses of this API are accepted in, in order of
+     * preference, replacing {@link Client#accept()} when declared.
+     */
+    String[] accept() default {};
+
+    /**
+     * Media type of the {@link DataFormat data format} request bodies of this API are serialized to, replacing
+     * {@link Client#contentType()} when declared.
+     */
+    String contentType() default "";
+
+    /**
+     * Configures coalescing of concurrent calls which differ only by one parameter into a single upstream request
+     * using the bulk form of the API, eg. <code>?id=1,2,3</code> instead of three separate calls. The upstream response
+     * must be a JSON array with one element per distinct batched value in request order, which is split back to the
+     * individual callers. Each caller sees its own result, or the failure of the shared request.
+     *
+     * Only applies to blocking and asynchronous API methods.
+     *
+     * @since 18.10.2026
+     */
+    @Target({})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Batch {
+        /**
+         * Name of the method parameter whose values are combined. Empty disables batching.
+         */
+        String param();
+
+        /**
+         * Maximum number of distinct values combined into one request. A full batch is sent immediately.
+         */
+        int maxSize() default 50;
+
+        /**
+         * Maximum time in milliseconds the first call of a batch waits for others to join.
+         */
+        long windowMillis() default 5;
+
+        /**
+         * Separator used to join the combined values into one parameter value. If empty, the parameter is repeated
+         * once per value instead.
+         */
+        String separator() default ",";
+    }
+
+    /**
+     * Configures response caching of a blocking API method. Responses are cached by full URL and parameters for as long
+     * as their <code>Cache-Control</code> or <code>Expires</code> headers allow, and stale responses carrying an
+     * <code>ETag</code> or <code>Last-Modified</code> header are revalidated with a conditional request instead of
+     * being downloaded again. Responses marked <code>no-store</code> are never cached.
+     *
+     * @since 18.10.2026
+     */
+    @Target({})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Cache {
+        boolean enabled() default true;
+
+        /**
+         * Time in milliseconds responses without freshness information are considered fresh.
+         */
+        long defaultTtlMillis() default 0;
+
+        /**
+         * Whether the response type is immutable, in which case the deserialized object is cached and shared between
+         * callers instead of deserializing the cached response body on every hit.
+         */
+        boolean immutable() default false;
+    }
 }
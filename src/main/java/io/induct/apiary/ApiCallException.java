@@ -0,0 +1,40 @@
+package io.induct.apiary;
+
+import com.google.common.collect.Multimap;
+
+/**
+ * Thrown by API methods when a call completes with an unsuccessful status, unless the API opts in to
+ * {@link Api#nullOnFailure()}. Carries the error body if the API declares an {@link Api#errorType()}.
+ *
+ * @since 18.10.2026
+ */
+public class ApiCallException extends ApiaryException {
+    private final ApiResponse<?> response;
+
+    ApiCallException(ApiRequest request, ApiResponse<?> response) {
+        super("Call of " + (request.getMethod() != null ? request.getMethod() : request.getUrl()) + " failed with status " + response.getStatusCode());
+        this.response = response;
+    }
+
+    public int getStatusCode() {
+        return response.getStatusCode();
+    }
+
+    public Multimap<String, String> getHeaders() {
+        return response.getHeaders();
+    }
+
+    /**
+     * @return Unsuccessful response, including its deserialized error body if there was one.
+     */
+    public ApiResponse<?> getResponse() {
+        return response;
+    }
+
+    /**
+     * @see ApiResponse#isRetryable()
+     */
+    public boolean isRetryable() {
+        return response.isRetryable();
+    }
+}
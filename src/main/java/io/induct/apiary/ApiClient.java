@@ -1,8 +1,16 @@
 package io.induct.apiary;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.google.common.base.Optional;
-import io.induct.daniel.Daniel;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
 import io.induct.http.HttpClient;
 import io.induct.http.Response;
 import io.induct.http.builders.Request;
@@ -11,7 +19,27 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * All generated HTTP API clients use this class as their base class.
@@ -22,13 +50,450 @@ import java.io.InputStream;
 public abstract class ApiClient {
     private final Logger log = LoggerFactory.getLogger(ApiClient.class);
 
-    @Inject Daniel daniel;
-    @Inject HttpClient httpClient;
+    /**
+     * Blocking HTTP client of the default {@link Transport}, and of {@link #toRequest(ApiRequest)}.
+     */
+    @com.google.inject.Inject(optional = true) HttpClient httpClient;
+    @Inject ResponseCache responseCache;
+
+    /**
+     * Mapper requests are serialized and responses deserialized with. Jackson modules registered to it apply to all
+     * clients, including bytecode generated deserializers such as Afterburner's.
+     */
+    @Inject ObjectMapper objectMapper;
+
+    /**
+     * Transport requests are sent with, configured with the {@link Client#pool() connection settings} of this client.
+     * If none is bound, the default one sends them with the bound {@link HttpClient} and <code>AsyncHttpClient</code>.
+     */
+    @com.google.inject.Inject(optional = true) Transport transport;
+
+    /**
+     * {@link DataFormat Data formats} responses are decoded in by their <code>Content-Type</code>, other than JSON.
+     */
+    @Inject DataFormats dataFormats;
+
+    /**
+     * Receives per API method metrics of the requests sent, if bound.
+     */
+    @com.google.inject.Inject(optional = true) ApiMetrics metrics;
+
+    /**
+     * Traces the requests sent, if bound.
+     */
+    @com.google.inject.Inject(optional = true) ApiTracer tracer;
+
+    private final ConcurrentMap<ApiMethod, RequestBatcher> batchers = new ConcurrentHashMap<>();
+
+    private final InFlightCalls inFlightCalls = new InFlightCalls();
+
+    /**
+     * Environment calls of this client are sent to. Replaced as a whole, so that switching environments needs neither
+     * locking nor regenerating the client.
+     */
+    private volatile ActiveEnvironment environment;
+
+    /**
+     * {@link ApiInterceptor Interceptors} of each API method by {@link ApiMethod#getIndex()}, or <code>null</code> if
+     * no method of this client has any.
+     */
+    private ApiInterceptor[][] interceptors;
+
+    /**
+     * {@link ApiMetrics.Recorder Recorders} of each API method by {@link ApiMethod#getIndex()}, or <code>null</code> if
+     * no {@link ApiMetrics} is bound.
+     */
+    private ApiMetrics.Recorder[] recorders;
+
+    /**
+     * <code>Accept</code> headers of each API method by {@link ApiMethod#getIndex()}, or <code>null</code> if no
+     * method of this client declares {@link Api#accept() accepted formats}.
+     */
+    private String[] acceptHeaders;
+
+    /**
+     * {@link DataFormat Formats} request bodies of each API method are serialized to by {@link ApiMethod#getIndex()},
+     * <code>null</code> for JSON, or <code>null</code> if all methods of this client send JSON.
+     */
+    private DataFormat[] bodyFormats;
+
+    /**
+     * Readers specialized for each type responses of this client are deserialized to.
+     */
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    /**
+     * Readers of {@link #readers} specialized for each data format other than JSON responses are received in.
+     */
+    private final ConcurrentMap<DataFormat, ConcurrentMap<Type, ObjectReader>> formatReaders = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a request for an API method of this client, relative to the client's current environment.
+     *
+     * @param path Path of the API, with path variables expanded.
+     */
+    protected ApiRequest newRequest(ApiMethod method, String path) {
+        ActiveEnvironment current = environment;
+        if (current == null) {
+            // created without Apiary, so default to the first declared environment
+            Class<?> apiDefiningInterface = method.getMethod().getDeclaringClass();
+            current = new ActiveEnvironment(apiDefiningInterface, ClientEnvironment.of(apiDefiningInterface.getDeclaredAnnotation(Client.class).environments()[0]));
+            environment = current;
+        }
+        return new ApiRequest(method, current, path);
+    }
+
+    /**
+     * Switches the environment subsequent calls are sent to. Calls already in flight are not affected.
+     */
+    void useEnvironment(Class<?> apiDefiningInterface, ClientEnvironment env) {
+        environment = new ActiveEnvironment(apiDefiningInterface, env);
+    }
+
+    /**
+     * @return Environment calls are currently sent to, if set.
+     */
+    java.util.Optional<ClientEnvironment> getEnvironment() {
+        ActiveEnvironment current = environment;
+        return current != null ? java.util.Optional.of(current.getConfig()) : java.util.Optional.empty();
+    }
+
+    /**
+     * Resolves the interceptors of every API method of this client once, so that calls only index an array.
+     */
+    @Inject
+    void resolveInterceptors(Injector injector) {
+        java.util.Optional<Class<?>> apiDefiningInterface = apiDefiningInterface();
+        if (!apiDefiningInterface.isPresent()) {
+            return;
+        }
+        Binding<Set<ApiInterceptor>> bound = injector.getExistingBinding(Key.get(new TypeLiteral<Set<ApiInterceptor>>() {}));
+        List<ApiInterceptor> global = bound != null ? ImmutableList.copyOf(bound.getProvider().get()) : Collections.emptyList();
+        Class<? extends ApiInterceptor>[] clientInterceptors = apiDefiningInterface.get().getDeclaredAnnotation(Client.class).interceptors();
+        List<Method> methods = ApiMethod.methodsOf(apiDefiningInterface.get());
+        Map<Class<? extends ApiInterceptor>, ApiInterceptor> instances = new HashMap<>();
+        ApiInterceptor[][] resolved = new ApiInterceptor[methods.size()][];
+        boolean any = false;
+        for (int i = 0; i < resolved.length; i++) {
+            List<ApiInterceptor> chain = new ArrayList<>(global);
+            Stream.concat(Stream.of(clientInterceptors), Stream.of(methods.get(i).getAnnotation(Api.class).interceptors()))
+                    .map(cls -> instances.computeIfAbsent(cls, injector::getInstance))
+                    .forEach(chain::add);
+            if (!chain.isEmpty()) {
+                resolved[i] = chain.toArray(new ApiInterceptor[chain.size()]);
+                any = true;
+            }
+        }
+        interceptors = any ? resolved : null;
+    }
+
+    /**
+     * Resolves the transport of this client once, configured with the connection settings of its API defining
+     * interface.
+     */
+    @Inject
+    void resolveTransport(Injector injector) {
+        Transport base = transport != null ? transport : defaultTransport(injector);
+        transport = apiDefiningInterface()
+                .map(apiDefiningInterface -> base.configure(apiDefiningInterface.getDeclaredAnnotation(Client.class).pool()))
+                .orElse(base);
+    }
+
+    private static Transport defaultTransport(Injector injector) {
+        DefaultTransport defaults = injector.getInstance(DefaultTransport.class);
+        defaults.checkClients();
+        return defaults;
+    }
+
+    /**
+     * Resolves the metrics recorders of every API method of this client once, so that calls only index an array.
+     */
+    @Inject
+    void resolveRecorders() {
+        if (metrics != null) {
+            apiDefiningInterface().ifPresent(apiDefiningInterface -> recorders = ApiMethod.methodsOf(apiDefiningInterface).stream()
+                    .map(metrics::recorderOf)
+                    .toArray(ApiMetrics.Recorder[]::new));
+        }
+    }
+
+    /**
+     * Resolves the readers of the response and error types of every API method of this client once, so that calls
+     * neither resolve their types nor look up their deserializers.
+     */
+    @Inject
+    void resolveReaders() {
+        apiDefiningInterface().ifPresent(apiDefiningInterface -> ApiMethod.methodsOf(apiDefiningInterface).forEach(method -> {
+            readerOf(ClientDefinitions.responseType(method));
+            Class<?> errorType = method.getAnnotation(Api.class).errorType();
+            if (errorType != Void.class) {
+                readerOf(errorType);
+            }
+        }));
+    }
+
+    /**
+     * Resolves the {@link DataFormat data formats} every API method of this client accepts and serializes request
+     * bodies to once, along with the readers of the accepted formats.
+     *
+     * @throws ClientGenerationException if a declared format is not available.
+     */
+    @Inject
+    void resolveFormats() {
+        java.util.Optional<Class<?>> apiDefiningInterface = apiDefiningInterface();
+        if (!apiDefiningInterface.isPresent()) {
+            return;
+        }
+        Client clientConfig = apiDefiningInterface.get().getDeclaredAnnotation(Client.class);
+        List<Method> methods = ApiMethod.methodsOf(apiDefiningInterface.get());
+        String[] accepts = new String[methods.size()];
+        DataFormat[] formats = new DataFormat[methods.size()];
+        boolean anyAccept = false;
+        boolean anyFormat = false;
+        for (int i = 0; i < methods.size(); i++) {
+            Api config = methods.get(i).getAnnotation(Api.class);
+            String[] accepted = config.accept().length > 0 ? config.accept() : clientConfig.accept();
+            if (accepted.length > 0) {
+                accepts[i] = dataFormats.acceptHeaderOf(accepted);
+                anyAccept = true;
+                Type responseType = ClientDefinitions.responseType(methods.get(i));
+                for (String mediaType : accepted) {
+                    DataFormat format = dataFormats.forMediaType(mediaType);
+                    if (format != null) {
+                        readerOf(responseType, format);
+                    }
+                }
+            }
+            formats[i] = dataFormats.forMediaType(config.contentType().isEmpty() ? clientConfig.contentType() : config.contentType());
+            anyFormat |= formats[i] != null;
+        }
+        acceptHeaders = anyAccept ? accepts : null;
+        bodyFormats = anyFormat ? formats : null;
+    }
+
+    /**
+     * @return Interface of the API methods implemented by this client, unless this is not a generated client.
+     */
+    private java.util.Optional<Class<?>> apiDefiningInterface() {
+        return Stream.of(getClass().getInterfaces())
+                .filter(cls -> cls.isAnnotationPresent(Client.class))
+                .findFirst();
+    }
+
+    private ObjectReader readerOf(Type type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = readers.computeIfAbsent(type, t -> objectMapper.reader().forType(objectMapper.getTypeFactory().constructType(t)));
+        }
+        return reader;
+    }
+
+    /**
+     * @param format Format of responses read, or <code>null</code> for JSON.
+     */
+    private ObjectReader readerOf(Type type, DataFormat format) {
+        if (format == null) {
+            return readerOf(type);
+        }
+        ConcurrentMap<Type, ObjectReader> ofFormat = formatReaders.computeIfAbsent(format, f -> new ConcurrentHashMap<>());
+        ObjectReader reader = ofFormat.get(type);
+        if (reader == null) {
+            reader = ofFormat.computeIfAbsent(type, t -> readerOf(t).with(format.getFactory()));
+        }
+        return reader;
+    }
+
+    private <T> T deserialize(TypeReference<T> type, ResponseBody content, DataFormat format) {
+        try {
+            return content.read(readerOf(type.getType(), format));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to deserialize response to " + type.getType(), e);
+        }
+    }
 
     protected RequestBuilder createRequestBuilder() {
         return new RequestBuilder(httpClient);
     }
 
+    /**
+     * Converts an {@link ApiRequest} into an executable request of the bound {@link HttpClient}.
+     */
+    protected Request toRequest(ApiRequest apiRequest) {
+        RequestBody body = serializedBodyOf(apiRequest);
+        String accept = acceptHeaderOf(apiRequest);
+        RequestBuilder builder = createRequestBuilder()
+                .withUrl(apiRequest.getUrl())
+                .withParams(params -> params.putAll(apiRequest.getParams()))
+                .withHeaders(headers -> {
+                    headers.putAll(apiRequest.getHeaders());
+                    if (accept != null && !CacheHeaders.header(headers, TransportRequest.ACCEPT).isPresent()) {
+                        headers.put(TransportRequest.ACCEPT, accept);
+                    }
+                    if (body != null && !CacheHeaders.header(headers, TransportRequest.CONTENT_TYPE).isPresent()) {
+                        headers.put(TransportRequest.CONTENT_TYPE, body.getContentType());
+                    }
+                });
+        if (body != null) {
+            builder.withBody(body.openStream());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Resolves the request for the {@link #transport}, serializing its body.
+     */
+    private TransportRequest toTransportRequest(ApiRequest request, String url) {
+        RequestBody body = serializedBodyOf(request);
+        request.setBodyLength(body != null ? body.getLength() : -1);
+        return new TransportRequest(request.getHttpMethod(), url, request.getParams(), request.getHeaders(), acceptHeaderOf(request), body);
+    }
+
+    /**
+     * @return Body of the request serialized to the {@link DataFormat} of its API method, or <code>null</code> if it
+     *         has none.
+     */
+    private RequestBody serializedBodyOf(ApiRequest request) {
+        DataFormat[] all = bodyFormats;
+        DataFormat format = all != null && request.getMethod() != null ? all[request.getMethod().getIndex()] : null;
+        return RequestBody.of(request.getBody(), objectMapper, format);
+    }
+
+    /**
+     * @return <code>Accept</code> header of the request's API method, or <code>null</code> if it declares none.
+     */
+    private String acceptHeaderOf(ApiRequest request) {
+        String[] all = acceptHeaders;
+        return all != null && request.getMethod() != null ? all[request.getMethod().getIndex()] : null;
+    }
+
+    /**
+     * Executes the request with given HTTP method.
+     *
+     * @throws ApiaryException if the bound {@link HttpClient} does not support the method.
+     */
+    protected static Response execute(Request request, HttpMethod method) {
+        switch (method) {
+            case GET: return request.get();
+            case POST: return request.post();
+            case PUT: return request.put();
+            case DELETE: return request.delete();
+            default: throw new ApiaryException(method + " calls require a " + Transport.class.getSimpleName() + " supporting them, eg. " + NingTransport.class.getSimpleName());
+        }
+    }
+
+    /**
+     * Executes the request on the {@link #transport} through its {@link ApiInterceptor interceptors}, on the root
+     * selected by the {@link LoadBalancer} of its environment if there is one. Responses are recorded to
+     * {@link ApiMetrics} once they have been read, failures right away.
+     */
+    private TransportResponse send(ApiRequest request) {
+        ApiInterceptor[] chain = interceptorsOf(request);
+        LoadBalancer balancer = balancerOf(request);
+        ApiMetrics.Recorder recorder = recorderOf(request);
+        if (chain == null && balancer == null && recorder == null && tracer == null) {
+            try {
+                return transport.execute(toTransportRequest(request, request.getUrl()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if (chain != null) {
+            intercept(chain, request);
+        }
+        LoadBalancer.Host host = balancer != null ? balancer.select() : null;
+        String url = host != null ? host.getRoot() + request.getPath() : request.getUrl();
+        long start = System.nanoTime();
+        ApiTracer.Span span = tracer != null ? tracer.start(request) : null;
+        TransportResponse response;
+        try {
+            response = transport.execute(toTransportRequest(request, url));
+        } catch (IOException | RuntimeException | Error e) {
+            if (host != null) {
+                host.failed(e);
+            }
+            if (span != null) {
+                span.fail(e);
+            }
+            if (recorder != null) {
+                recorder.recordFailure(e, System.nanoTime() - start);
+            }
+            if (chain != null) {
+                interceptFailure(chain, request, e);
+            }
+            Throwables.propagateIfPossible(e);
+            throw new UncheckedIOException((IOException) e);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        if (host != null) {
+            host.completed(response.getStatusCode(), elapsedNanos);
+        }
+        if (span != null) {
+            span.finish(response.getStatusCode());
+        }
+        if (chain != null) {
+            interceptResponse(chain, request, response.getStatusCode(), response.getHeaders(), elapsedNanos);
+        }
+        return response;
+    }
+
+    private ApiMetrics.Recorder recorderOf(ApiRequest request) {
+        ApiMetrics.Recorder[] all = recorders;
+        return all != null && request.getMethod() != null ? all[request.getMethod().getIndex()] : null;
+    }
+
+    /**
+     * @return Length of the response body as received, or <code>-1</code> if it isn't known.
+     */
+    private static long responseBytes(Multimap<String, String> headers, Optional<ResponseBody> body) {
+        if (body.isPresent() && body.get().length() >= 0) {
+            return body.get().length();
+        }
+        java.util.Optional<String> contentLength = CacheHeaders.header(headers, "Content-Length");
+        try {
+            return contentLength.isPresent() ? Long.parseLong(contentLength.get().trim()) : (body.isPresent() ? -1 : 0);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private ApiInterceptor[] interceptorsOf(ApiRequest request) {
+        ApiInterceptor[][] all = interceptors;
+        return all != null && request.getMethod() != null ? all[request.getMethod().getIndex()] : null;
+    }
+
+    /**
+     * @return {@link ApiRequest#key() Key} of the request as it will be sent, which is why the request is intercepted
+     *         first: parameters and headers added by interceptors, such as credentials, must tell cached and coalesced
+     *         calls apart.
+     */
+    private String keyOf(ApiRequest request) {
+        ApiInterceptor[] chain = interceptorsOf(request);
+        if (chain != null) {
+            intercept(chain, request);
+        }
+        return request.key();
+    }
+
+    private static void intercept(ApiInterceptor[] chain, ApiRequest request) {
+        if (request.markIntercepted()) {
+            for (ApiInterceptor interceptor : chain) {
+                interceptor.onRequest(request);
+            }
+        }
+    }
+
+    private static void interceptResponse(ApiInterceptor[] chain, ApiRequest request, int statusCode, Multimap<String, String> headers, long elapsedNanos) {
+        for (int i = chain.length - 1; i >= 0; i--) {
+            chain[i].onResponse(request, statusCode, headers, elapsedNanos);
+        }
+    }
+
+    private static void interceptFailure(ApiInterceptor[] chain, ApiRequest request, Throwable failure) {
+        for (int i = chain.length - 1; i >= 0; i--) {
+            chain[i].onFailure(request, failure);
+        }
+    }
+
     protected <T> String asString(T unknownType) {
         if (unknownType instanceof java.util.Optional) {
             java.util.Optional optionalUnknown = ((java.util.Optional) unknownType);
@@ -54,26 +519,462 @@ public abstract class ApiClient {
         return o.toString();
     }
 
-    protected <T> T handleApiCall(Request request, TypeReference<T> targetType) {
-        try (Response response = request.get()) {
+    /**
+     * Resolves the type an API method's response should be deserialized to into a {@link TypeReference}. For
+     * asynchronous methods this is the type the returned future completes with.
+     */
+    protected static <T> TypeReference<T> responseTypeOf(Class<?> apiDefiningInterface, String methodName, Class<?>... parameterTypes) {
+        try {
+            Method method = apiDefiningInterface.getMethod(methodName, parameterTypes);
+            return new ReflectedTypeReference<>(ClientDefinitions.responseType(method));
+        } catch (NoSuchMethodException e) {
+            throw new ClientGenerationException("Generated client does not match its API defining interface " + apiDefiningInterface, e);
+        }
+    }
+
+    protected <T> T handleApiCall(ApiRequest request, TypeReference<T> targetType) {
+        if (coalesces(request)) {
+            return inFlightCalls.share(keyOf(request), () -> executeApiCall(request, targetType));
+        }
+        return executeApiCall(request, targetType);
+    }
+
+    private <T> T executeApiCall(ApiRequest request, TypeReference<T> targetType) {
+        ApiMethod method = request.getMethod();
+        if (method != null && method.getConfig().cache().enabled() && responseCache != null) {
+            return handleCachedApiCall(request, targetType, method.getConfig().cache());
+        }
+        RequestBatcher batcher = batcherOf(request);
+        if (batcher != null) {
+            return limited(request, () -> join(batcher.submit(request, targetType)));
+        }
+        return limited(request, () -> call(request, targetType));
+    }
+
+    /**
+     * Executes the request on the calling thread. Requests with a {@link CallPolicy} are executed asynchronously and
+     * waited for instead.
+     */
+    private <T> T call(ApiRequest request, TypeReference<T> targetType) {
+        if (policyOf(request).isPresent()) {
+            return join(sendAsync(request, targetType));
+        }
+        return bodyOf(request, exchange(request, targetType));
+    }
+
+    /**
+     * Executes the request on the calling thread and returns the response regardless of its status. Error bodies of
+     * unsuccessful responses are deserialized only if the API declares an {@link Api#errorType()}.
+     */
+    protected <T> ApiResponse<T> handleResponseApiCall(ApiRequest request, TypeReference<T> targetType) {
+        if (policyOf(request).isPresent()) {
+            return limited(request, () -> join(exchangeWithPolicy(request, targetType)));
+        }
+        return limited(request, () -> exchange(request, targetType));
+    }
+
+    private <T> ApiResponse<T> exchange(ApiRequest request, TypeReference<T> targetType) {
+        long start = System.nanoTime();
+        try (TransportResponse response = send(request)) {
+            return readResponse(request, response.getStatusCode(), response.getHeaders(), response.body(), targetType, start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deserializes the body of a successful response to the target type, or the body of an unsuccessful one to the
+     * {@link Api#errorType()} of the request's API method. Empty bodies are not deserialized.
+     */
+    private <T> ApiResponse<T> readResponse(ApiRequest request, int statusCode, Multimap<String, String> headers, Optional<ResponseBody> body, TypeReference<T> targetType, long start) {
+        java.util.Optional<TypeReference<?>> errorType = request.getMethod() != null ? request.getMethod().getErrorType() : java.util.Optional.empty();
+        boolean successful = ApiResponse.isSuccessful(statusCode);
+        long received = System.nanoTime();
+        T value = null;
+        Object error = null;
+        try {
+            if (body.isPresent() && successful) {
+                value = deserialize(targetType, body.get(), dataFormats.formatOf(headers));
+            } else if (body.isPresent() && errorType.isPresent()) {
+                error = deserializeError(errorType.get(), body.get(), dataFormats.formatOf(headers));
+            }
+        } finally {
+            record(request, statusCode, headers, body, start, received);
+        }
+        return new ApiResponse<>(statusCode, headers, value, error, System.nanoTime() - start);
+    }
+
+    /**
+     * Records a received response to the {@link ApiMetrics} of its API method.
+     *
+     * @param start When the request was sent.
+     * @param received When the response was received and its deserialization started.
+     */
+    private void record(ApiRequest request, int statusCode, Multimap<String, String> headers, Optional<ResponseBody> body, long start, long received) {
+        ApiMetrics.Recorder recorder = recorderOf(request);
+        if (recorder != null) {
+            recorder.recordResponse(statusCode, request.getBodyLength(), responseBytes(headers, body), received - start, System.nanoTime() - received);
+        }
+    }
+
+    private Object deserializeError(TypeReference<?> errorType, ResponseBody content, DataFormat format) {
+        try {
+            return deserialize(errorType, content, format);
+        } catch (RuntimeException e) {
+            log.debug("Failed to deserialize error body to " + errorType.getType(), e);
+            return null;
+        }
+    }
+
+    /**
+     * @return Body of a successful response, or <code>null</code> for an unsuccessful one if the API opts in to
+     *         {@link Api#nullOnFailure()}.
+     * @throws ApiCallException if the response is unsuccessful.
+     */
+    private <T> T bodyOf(ApiRequest request, ApiResponse<T> response) {
+        if (response.isSuccessful()) {
+            return response.getBody().orElse(null);
+        }
+        if (request.getMethod() != null && request.getMethod().getConfig().nullOnFailure()) {
+            log.debug("Unsuccessful response, returning null");
+            return null;
+        }
+        throw new ApiCallException(request, response);
+    }
+
+    private static <T> T join(CompletableFuture<T> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            Throwables.propagateIfPossible(e.getCause());
+            throw e;
+        }
+    }
+
+    /**
+     * Executes the call once admitted by the {@link RateLimit rate limits} of the request's API method.
+     */
+    private <T> T limited(ApiRequest request, Supplier<T> call) {
+        List<CallLimiter> limiters = limitersOf(request);
+        CallLimiter.acquireAll(limiters);
+        try {
+            return call.get();
+        } finally {
+            CallLimiter.releaseAll(limiters);
+        }
+    }
+
+    private static List<CallLimiter> limitersOf(ApiRequest request) {
+        return request.getMethod() != null ? request.getMethod().getLimiters() : Collections.emptyList();
+    }
+
+    /**
+     * Serves fresh responses from {@link #responseCache}, revalidates stale ones with a conditional request and stores
+     * new responses for as long as their caching headers allow.
+     */
+    private <T> T handleCachedApiCall(ApiRequest request, TypeReference<T> targetType, Api.Cache config) {
+        String key = keyOf(request);
+        ResponseCacheStats stats = responseCache.getStats();
+        long now = System.currentTimeMillis();
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null && cached.isFresh(now)) {
+            stats.recordHit();
+            return cachedValue(cached, targetType);
+        }
+        CachedResponse revalidated = cached != null && cached.isRevalidatable() ? cached : null;
+        if (revalidated != null) {
+            revalidated.getEtag().ifPresent(etag -> request.header("If-None-Match", etag));
+            revalidated.getLastModified().ifPresent(lastModified -> request.header("If-Modified-Since", lastModified));
+        }
+        return limited(request, () -> fetchCacheable(request, targetType, config, key, revalidated, now));
+    }
+
+    private <T> T fetchCacheable(ApiRequest request, TypeReference<T> targetType, Api.Cache config, String key, CachedResponse cached, long now) {
+        ResponseCacheStats stats = responseCache.getStats();
+        long start = System.nanoTime();
+        try (TransportResponse response = send(request)) {
+            Multimap<String, String> headers = response.getHeaders();
+            if (cached != null && response.getStatusCode() == 304) {
+                stats.recordRevalidation();
+                record(request, 304, headers, Optional.absent(), start, System.nanoTime());
+                responseCache.put(key, cached.withExpiresAt(CacheHeaders.expiresAt(headers, now, config.defaultTtlMillis())));
+                return cachedValue(cached, targetType);
+            }
+            stats.recordMiss();
+            Optional<ResponseBody> body = response.body();
+            if (response.getStatusCode() != 200 || !body.isPresent()) {
+                return bodyOf(request, readResponse(request, response.getStatusCode(), headers, body, targetType, start));
+            }
+            // read once into the recycled buffer, as the body is both deserialized and possibly cached
+            long received = System.nanoTime();
+            DataFormat format = dataFormats.formatOf(headers);
+            T value;
+            ResponseBody buffered;
+            try {
+                buffered = body.get().buffered();
+                value = deserialize(targetType, buffered, format);
+            } finally {
+                record(request, response.getStatusCode(), headers, body, start, received);
+            }
+            if (CacheHeaders.isStorable(headers)) {
+                CachedResponse entry = new CachedResponse(
+                        config.immutable() ? null : buffered.toByteArray(),
+                        format,
+                        config.immutable() ? value : null,
+                        buffered.length(),
+                        CacheHeaders.expiresAt(headers, now, config.defaultTtlMillis()),
+                        CacheHeaders.header(headers, "ETag"),
+                        CacheHeaders.header(headers, "Last-Modified"));
+                if (entry.isFresh(now) || entry.isRevalidatable()) {
+                    responseCache.put(key, entry);
+                }
+            }
+            return value;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cachedValue(CachedResponse cached, TypeReference<T> targetType) {
+        if (cached.getBody() == null) {
+            return (T) cached.getValue();
+        }
+        return deserialize(targetType, ResponseBody.of(cached.getBody()), cached.getFormat());
+    }
+
+    /**
+     * Executes the request without blocking the calling thread. The response is deserialized once it has been fully
+     * received and the returned future is completed with the result, or exceptionally on unsuccessful calls just
+     * like {@link #handleApiCall(ApiRequest, TypeReference)} does. Cancelling the future aborts the request,
+     * unless it is shared with other {@link Api#coalesce() coalesced} calls.
+     */
+    protected <T> CompletableFuture<T> handleAsyncApiCall(ApiRequest request, TypeReference<T> targetType) {
+        if (coalesces(request)) {
+            return inFlightCalls.shareAsync(keyOf(request), () -> executeAsyncApiCall(request, targetType));
+        }
+        return executeAsyncApiCall(request, targetType);
+    }
+
+    private <T> CompletableFuture<T> executeAsyncApiCall(ApiRequest request, TypeReference<T> targetType) {
+        List<CallLimiter> limiters = limitersOf(request);
+        if (limiters.isEmpty()) {
+            return dispatchAsyncApiCall(request, targetType);
+        }
+        // waiting for admission blocks, so only calls which can't be admitted right away are handed to another thread
+        CompletableFuture<Void> admitted = CallLimiter.tryAcquireAll(limiters)
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.runAsync(() -> CallLimiter.acquireAll(limiters), BlockingCalls.EXECUTOR);
+        return admitted.thenCompose(ignored -> {
+            CompletableFuture<T> call;
+            try {
+                call = dispatchAsyncApiCall(request, targetType);
+            } catch (RuntimeException | Error e) {
+                CallLimiter.releaseAll(limiters);
+                throw e;
+            }
+            return call.whenComplete((result, failure) -> CallLimiter.releaseAll(limiters));
+        });
+    }
+
+    private <T> CompletableFuture<T> dispatchAsyncApiCall(ApiRequest request, TypeReference<T> targetType) {
+        RequestBatcher batcher = batcherOf(request);
+        if (batcher != null) {
+            return batcher.submit(request, targetType);
+        }
+        return sendAsync(request, targetType);
+    }
+
+    /**
+     * Executes the request asynchronously under its {@link CallPolicy}, if any. Cancelling the returned future aborts
+     * the request.
+     */
+    private <T> CompletableFuture<T> sendAsync(ApiRequest request, TypeReference<T> targetType) {
+        CompletableFuture<ApiResponse<T>> exchange = exchangeWithPolicy(request, targetType);
+        CompletableFuture<T> result = exchange.thenApply(response -> bodyOf(request, response));
+        result.whenComplete((value, failure) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
 
-            switch (response.getStatusCode()) {
-                // informational:
-                // success:
-                case 200: {
-                    Optional<InputStream> body = response.getResponseBody();
-                    if (body.isPresent()) {
-                        log.debug("Body is present");
-                        return daniel.deserialize(targetType, response.getResponseBody().get());
-                    } else {
-                        log.debug("Body is absent, returning empty ApiResponse");
+    private <T> CompletableFuture<ApiResponse<T>> exchangeWithPolicy(ApiRequest request, TypeReference<T> targetType) {
+        java.util.Optional<CallPolicyEnforcer> policy = policyOf(request);
+        if (!policy.isPresent()) {
+            return exchangeAsync(request, targetType);
+        }
+        boolean idempotent = request.getHttpMethod() != HttpMethod.POST
+                && request.getHttpMethod() != HttpMethod.PATCH
+                && !(request.getBody() instanceof InputStream);
+        return policy.get().execute(() -> exchangeAsync(request, targetType), idempotent);
+    }
+
+    /**
+     * Executes the request on the {@link #transport} without blocking, unless the transport can only send it by
+     * blocking. Completing the returned future before the response has been received, eg. by cancelling it, aborts the
+     * request.
+     */
+    private <T> CompletableFuture<ApiResponse<T>> exchangeAsync(ApiRequest request, TypeReference<T> targetType) {
+        CompletableFuture<ApiResponse<T>> result = new CompletableFuture<>();
+        long start = System.nanoTime();
+        ApiInterceptor[] chain = interceptorsOf(request);
+        if (chain != null) {
+            result.whenComplete((response, failure) -> {
+                if (failure == null) {
+                    interceptResponse(chain, request, response.getStatusCode(), response.getHeaders(), System.nanoTime() - start);
+                } else {
+                    interceptFailure(chain, request, failure);
+                }
+            });
+        }
+        String url = request.getUrl();
+        LoadBalancer balancer = balancerOf(request);
+        if (balancer != null) {
+            LoadBalancer.Host host = balancer.select();
+            url = host.getRoot() + request.getPath();
+            result.whenComplete((response, failure) -> {
+                if (failure == null) {
+                    host.completed(response.getStatusCode(), System.nanoTime() - start);
+                } else {
+                    host.failed(failure);
+                }
+            });
+        }
+        ApiMetrics.Recorder recorder = recorderOf(request);
+        ApiTracer.Span span = null;
+        try {
+            if (chain != null) {
+                intercept(chain, request);
+            }
+            // started before the request is resolved, so that the headers the span sets are sent
+            span = tracer != null ? tracer.start(request) : null;
+            ApiTracer.Span started = span;
+            CompletableFuture<TransportResponse> call = transport.executeAsync(toTransportRequest(request, url));
+            call.whenComplete((response, failure) -> {
+                if (failure != null) {
+                    if (started != null) {
+                        started.fail(failure);
                     }
+                    if (recorder != null) {
+                        recorder.recordFailure(failure, System.nanoTime() - start);
+                    }
+                    result.completeExceptionally(failure);
+                    return;
+                }
+                if (started != null) {
+                    started.finish(response.getStatusCode());
+                }
+                try (TransportResponse received = response) {
+                    result.complete(readResponse(request, received.getStatusCode(), received.getHeaders(), received.body(), targetType, start));
+                } catch (RuntimeException | IOException e) {
+                    result.completeExceptionally(e);
                 }
-                // redirect:
-                // client error:
-                // server error:
-                default: return null;
+            });
+            result.whenComplete((response, failure) -> {
+                if (failure != null) {
+                    call.cancel(true);
+                }
+            });
+        } catch (RuntimeException e) {
+            if (span != null) {
+                span.fail(e);
+            }
+            if (recorder != null) {
+                recorder.recordFailure(e, System.nanoTime() - start);
+            }
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private static LoadBalancer balancerOf(ApiRequest request) {
+        return request.getEnvironment() != null ? request.getEnvironment().getBalancer() : null;
+    }
+
+    private static java.util.Optional<CallPolicyEnforcer> policyOf(ApiRequest request) {
+        return request.getMethod() != null ? request.getMethod().getPolicy() : java.util.Optional.empty();
+    }
+
+    private boolean coalesces(ApiRequest request) {
+        return request.getMethod() != null && request.getMethod().getConfig().coalesce();
+    }
+
+    /**
+     * @return Batcher for the request's API method, or <code>null</code> if the request should not be batched.
+     */
+    private RequestBatcher batcherOf(ApiRequest request) {
+        ApiMethod method = request.getMethod();
+        if (method == null || !method.getBatchParam().isPresent()) {
+            return null;
+        }
+        RequestBatcher batcher = batchers.computeIfAbsent(method, m -> new RequestBatcher(m, this::openJsonArray, BlockingCalls.EXECUTOR));
+        return batcher.accepts(request) ? batcher : null;
+    }
+
+    /**
+     * Executes the request and deserializes the elements of the top-level JSON array response lazily as the returned
+     * stream is consumed. Closing the stream closes the response, so callers should consume it in a
+     * <code>try</code>-with-resources block. Unsuccessful calls throw {@link ApiCallException}, or yield an empty stream
+     * if the API opts in to {@link Api#nullOnFailure()}.
+     */
+    protected <T> Stream<T> handleStreamingApiCall(ApiRequest request, TypeReference<T> elementType) {
+        JsonArrayIterator<T> elements = limited(request, () -> openJsonArray(request, elementType));
+        if (elements == null) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED), false)
+                .onClose(elements::close);
+    }
+
+    /**
+     * Same as {@link #handleStreamingApiCall(ApiRequest, TypeReference)}, except that the response is closed only
+     * once the returned iterator has been exhausted.
+     */
+    protected <T> Iterator<T> handleIteratingApiCall(ApiRequest request, TypeReference<T> elementType) {
+        JsonArrayIterator<T> elements = limited(request, () -> openJsonArray(request, elementType));
+        return elements != null ? elements : Collections.emptyIterator();
+    }
+
+    private <T> JsonArrayIterator<T> openJsonArray(ApiRequest request, TypeReference<T> elementType) {
+        long start = System.nanoTime();
+        TransportResponse response = send(request);
+        InputStream content;
+        try {
+            Optional<ResponseBody> body = response.body();
+            if (!ApiResponse.isSuccessful(response.getStatusCode()) || !body.isPresent()) {
+                bodyOf(request, readResponse(request, response.getStatusCode(), response.getHeaders(), body, elementType, start));
+                log.debug("Unsuccessful or empty response, returning no elements");
+                response.close();
+                return null;
             }
+            content = body.get().openStream();
+            // elements are deserialized lazily, so only the time to the first byte is recorded
+            record(request, response.getStatusCode(), response.getHeaders(), body, start, System.nanoTime());
+        } catch (IOException e) {
+            response.close();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            response.close();
+            throw e;
+        }
+        return new JsonArrayIterator<>(response, content, readerOf(elementType.getType(), dataFormats.formatOf(response.getHeaders())));
+    }
+
+    /**
+     * {@link TypeReference} for a type only known through reflection.
+     */
+    static class ReflectedTypeReference<T> extends TypeReference<T> {
+        private final Type type;
+
+        ReflectedTypeReference(Type type) {
+            this.type = type;
+        }
+
+        @Override
+        public Type getType() {
+            return type;
         }
     }
 }
@@ -0,0 +1,39 @@
+package io.induct.apiary;
+
+import com.google.common.collect.Multimap;
+
+/**
+ * Hook into the calls of generated clients, eg. for authentication, request signing, compression or logging.
+ * Interceptors are declared for all clients by binding them with a Guice <code>Multibinder&lt;ApiInterceptor&gt;</code>,
+ * for a client with {@link Client#interceptors()} and for a single API with {@link Api#interceptors()}, and run in
+ * that order. Declared classes are instantiated through Guice.
+ *
+ * The interceptors of each API method are resolved once when the client is created, so calls never look them up, and
+ * calls of clients without any interceptors don't pay for them at all. Retries and hedges of a call are intercepted
+ * only once, while {@link Api.Batch batched} calls are intercepted as a single bulk request. {@link Api#cache() Cached}
+ * and {@link Api#coalesce() coalesced} calls are intercepted before they are looked up, so that what interceptors add
+ * to a request keeps it apart from others, and are completed without {@link #onResponse} when served from the cache or
+ * by another call.
+ *
+ * @since 18.10.2026
+ */
+public interface ApiInterceptor {
+    /**
+     * Called in declaration order before the request is sent. The request may be modified, eg. to add headers or to
+     * replace its body.
+     */
+    default void onRequest(ApiRequest request) {
+    }
+
+    /**
+     * Called in reverse declaration order when a response has been received, regardless of its status.
+     */
+    default void onResponse(ApiRequest request, int statusCode, Multimap<String, String> headers, long elapsedNanos) {
+    }
+
+    /**
+     * Called in reverse declaration order when no response was received.
+     */
+    default void onFailure(ApiRequest request, Throwable failure) {
+    }
+}
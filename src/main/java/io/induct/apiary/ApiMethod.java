@@ -0,0 +1,165 @@
+package io.induct.apiary;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.collect.ImmutableList;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.induct.apiary.ClientDefinitions.apiParamName;
+
+/**
+ * Identity and configuration of a single API method. Generated clients resolve these once into static fields and
+ * attach them to every {@link ApiRequest} they build, which gives {@link ApiClient} access to per method
+ * {@link Api} configuration at call time.
+ *
+ * @since 18.10.2026
+ */
+public final class ApiMethod {
+
+    private static final ClassValue<List<Method>> API_METHODS = new ClassValue<List<Method>>() {
+        @Override
+        protected List<Method> computeValue(Class<?> apiDefiningInterface) {
+            return ClientDefinitions.findApiMethods(apiDefiningInterface)
+                    .sorted(Comparator.comparing(Method::toGenericString))
+                    .collect(Collectors.collectingAndThen(Collectors.toList(), ImmutableList::copyOf));
+        }
+    };
+
+    private final Method method;
+    private final int index;
+    private final String key;
+    private final Api config;
+    private final CallMode callMode;
+    private final Optional<String> batchParam;
+    private final List<CallLimiter> limiters;
+    private final Optional<TypeReference<?>> errorType;
+    private final Optional<CallPolicyEnforcer> policy;
+
+    private ApiMethod(Class<?> apiDefiningInterface, Method method) {
+        Client clientConfig = apiDefiningInterface.getDeclaredAnnotation(Client.class);
+        this.method = method;
+        this.index = methodsOf(apiDefiningInterface).indexOf(method);
+        this.key = method.toGenericString();
+        this.config = method.getAnnotation(Api.class);
+        this.callMode = CallMode.of(method.getReturnType());
+        this.batchParam = resolveBatchParam(clientConfig, method, callMode, config.batch());
+        if (config.method() != HttpMethod.GET && (config.cache().enabled() || config.coalesce() || batchParam.isPresent())) {
+            throw new ClientGenerationException("Only GET API methods can be cached, coalesced or batched, " + method + " cannot");
+        }
+        if (config.method() == HttpMethod.PATCH && callMode != CallMode.BLOCKING && callMode != CallMode.ASYNC) {
+            throw new ClientGenerationException("Only blocking and asynchronous API methods can use PATCH, " + method + " cannot");
+        }
+        if (config.cache().enabled() && (callMode != CallMode.BLOCKING || batchParam.isPresent())) {
+            throw new ClientGenerationException("Only blocking, unbatched API methods can be cached, " + method + " cannot");
+        }
+        this.limiters = Stream.of(CallLimiter.ofClient(apiDefiningInterface), CallLimiter.ofApi(method))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.collectingAndThen(Collectors.toList(), ImmutableList::copyOf));
+        if (config.coalesce() && callMode != CallMode.BLOCKING && callMode != CallMode.ASYNC) {
+            throw new ClientGenerationException("Only blocking and asynchronous API methods can be coalesced, " + method + " cannot");
+        }
+        this.errorType = config.errorType() != Void.class
+                ? Optional.of(new ApiClient.ReflectedTypeReference<>(config.errorType()))
+                : Optional.empty();
+        this.policy = CallPolicyEnforcer.of(method);
+    }
+
+    /**
+     * Resolves an API method of given API defining interface.
+     */
+    public static ApiMethod of(Class<?> apiDefiningInterface, String methodName, Class<?>... parameterTypes) {
+        try {
+            return new ApiMethod(apiDefiningInterface, apiDefiningInterface.getMethod(methodName, parameterTypes));
+        } catch (NoSuchMethodException e) {
+            throw new ClientGenerationException("Generated client does not match its API defining interface " + apiDefiningInterface, e);
+        }
+    }
+
+    /**
+     * @return API methods of given interface in a stable order, the one {@link #getIndex()} refers to.
+     */
+    static List<Method> methodsOf(Class<?> apiDefiningInterface) {
+        return API_METHODS.get(apiDefiningInterface);
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return Position of this method in {@link #methodsOf(Class)}, which lets clients keep per method state in arrays.
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return Identity of this method in {@link ApiRequest#key() request keys}, which tells overloads apart.
+     */
+    String getKey() {
+        return key;
+    }
+
+    public Api getConfig() {
+        return config;
+    }
+
+    CallMode getCallMode() {
+        return callMode;
+    }
+
+    /**
+     * @return API name of the parameter whose values are batched, if batching is enabled for this method.
+     */
+    Optional<String> getBatchParam() {
+        return batchParam;
+    }
+
+    /**
+     * @return {@link RateLimit Limiters} calls of this method have to pass, client's own first.
+     */
+    List<CallLimiter> getLimiters() {
+        return limiters;
+    }
+
+    /**
+     * @return Type error bodies of unsuccessful calls are deserialized to, if declared.
+     */
+    Optional<TypeReference<?>> getErrorType() {
+        return errorType;
+    }
+
+    /**
+     * @return Enforcer of the {@link CallPolicy} calls of this method are subject to, if any.
+     */
+    Optional<CallPolicyEnforcer> getPolicy() {
+        return policy;
+    }
+
+    @Override
+    public String toString() {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    private static Optional<String> resolveBatchParam(Client clientConfig, Method method, CallMode callMode, Api.Batch batch) {
+        if (batch.param().isEmpty()) {
+            return Optional.empty();
+        }
+        if (callMode != CallMode.BLOCKING && callMode != CallMode.ASYNC) {
+            throw new ClientGenerationException("Only blocking and asynchronous API methods can be batched, " + method + " cannot");
+        }
+        for (Parameter param : method.getParameters()) {
+            if (param.getName().equals(batch.param())) {
+                return Optional.of(apiParamName(clientConfig.paramFormat(), param.getName()));
+            }
+        }
+        throw new ClientGenerationException("Batched parameter " + batch.param() + " is not a parameter of " + method);
+    }
+}
@@ -0,0 +1,39 @@
+package io.induct.apiary;
+
+import java.lang.reflect.Method;
+
+/**
+ * Receives per API method metrics of every request generated clients send. Metrics are only collected if an
+ * implementation is bound, otherwise clients skip recording altogether. {@link CollectingApiMetrics} keeps them in
+ * memory, other implementations may forward them to a metrics library.
+ *
+ * @since 18.10.2026
+ */
+public interface ApiMetrics {
+
+    /**
+     * Called once per client and API method when the client is created, so that calls only index an array to find
+     * their recorder.
+     *
+     * @return Recorder of given API method.
+     */
+    Recorder recorderOf(Method apiMethod);
+
+    /**
+     * Records the requests of a single API method. Every request sent, including each retry and hedge, is recorded
+     * either as a response or as a failure. Recording is called from the threads completing the requests and must not
+     * block.
+     */
+    interface Recorder {
+        /**
+         * @param requestBytes Length of the request body, or <code>-1</code> if it isn't known up front.
+         * @param responseBytes Length of the response body, or <code>-1</code> if it isn't known up front.
+         * @param networkNanos Time from sending the request to receiving its response.
+         * @param deserializationNanos Time spent deserializing the body, which for streamed bodies includes reading
+         *                             them.
+         */
+        void recordResponse(int statusCode, long requestBytes, long responseBytes, long networkNanos, long deserializationNanos);
+
+        void recordFailure(Throwable failure, long elapsedNanos);
+    }
+}
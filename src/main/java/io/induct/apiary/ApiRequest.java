@@ -0,0 +1,162 @@
+package io.induct.apiary;
+
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+
+import java.util.Collections;
+
+/**
+ * Description of a single API call built by generated clients. The request is independent of the HTTP client it is
+ * eventually executed with, which allows {@link ApiClient} to execute it either synchronously or asynchronously.
+ *
+ * @since 18.10.2026
+ */
+public final class ApiRequest {
+    private final ApiMethod method;
+    private final ActiveEnvironment environment;
+    private final String path;
+    private final String url;
+    private final Multimap<String, String> params = LinkedListMultimap.create();
+    private final Multimap<String, String> headers = LinkedListMultimap.create();
+    private Object body;
+    private boolean intercepted;
+    private long bodyLength = -1;
+
+    /**
+     * @param url Absolute URL of the request, which is sent as is.
+     */
+    public ApiRequest(ApiMethod method, String url) {
+        this(method, null, url);
+    }
+
+    /**
+     * @param environment Environment the path is relative to, or <code>null</code> if the path is an absolute URL.
+     */
+    ApiRequest(ApiMethod method, ActiveEnvironment environment, String path) {
+        this.method = method;
+        this.environment = environment;
+        this.path = path;
+        this.url = environment != null ? environment.getRoot() + path : path;
+    }
+
+    /**
+     * Adds a query parameter to the request.
+     */
+    public ApiRequest param(String name, String value) {
+        params.put(name, value);
+        return this;
+    }
+
+    /**
+     * Adds a header to the request.
+     */
+    public ApiRequest header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    /**
+     * Sets a header of the request, replacing its earlier values.
+     */
+    public ApiRequest setHeader(String name, String value) {
+        headers.replaceValues(name, Collections.singletonList(value));
+        return this;
+    }
+
+    /**
+     * Sets the {@link Body body} of the request.
+     */
+    public ApiRequest body(Object body) {
+        this.body = body;
+        return this;
+    }
+
+    /**
+     * @return API method this request was built by.
+     */
+    public ApiMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * @return Absolute URL of the request on the primary root of its environment.
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return Path of the request relative to the roots of its {@link #getEnvironment() environment}.
+     */
+    String getPath() {
+        return path;
+    }
+
+    /**
+     * @return Environment the request was built in, or <code>null</code> if it was built with an absolute URL.
+     */
+    ActiveEnvironment getEnvironment() {
+        return environment;
+    }
+
+    public Multimap<String, String> getParams() {
+        return Multimaps.unmodifiableMultimap(params);
+    }
+
+    public Multimap<String, String> getHeaders() {
+        return Multimaps.unmodifiableMultimap(headers);
+    }
+
+    /**
+     * @return Body of the request, or <code>null</code> if it has none.
+     */
+    public Object getBody() {
+        return body;
+    }
+
+    /**
+     * @return HTTP method of the request, <code>GET</code> for requests not built by an API method.
+     */
+    HttpMethod getHttpMethod() {
+        return method != null ? method.getConfig().method() : HttpMethod.GET;
+    }
+
+    /**
+     * Marks the request as passed to its {@link ApiInterceptor interceptors}, which happens only once per request even
+     * if it is sent multiple times.
+     *
+     * @return <code>false</code> if the request had already been intercepted.
+     */
+    boolean markIntercepted() {
+        if (intercepted) {
+            return false;
+        }
+        intercepted = true;
+        return true;
+    }
+
+    /**
+     * @return Length of the body as it was last sent, or <code>-1</code> if there was none or its length wasn't known.
+     */
+    long getBodyLength() {
+        return bodyLength;
+    }
+
+    void setBodyLength(long bodyLength) {
+        this.bodyLength = bodyLength;
+    }
+
+    /**
+     * @return Key identifying requests of the same API method with identical URL, parameters and headers. Bodies are
+     *         not part of the key, which is why only <code>GET</code> requests are cached, batched and coalesced.
+     */
+    String key() {
+        return (method != null ? method.getKey() : null) + " " + url + params + headers;
+    }
+
+    @Override
+    public String toString() {
+        return "ApiRequest{method=" + method + ", url='" + url + "', params=" + params + "}";
+    }
+}
@@ -0,0 +1,95 @@
+package io.induct.apiary;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Complete outcome of an API call. API methods returning <code>ApiResponse&lt;T&gt;</code> receive this instead of the
+ * plain deserialized body, so that callers can inspect the status, headers, timing and {@link Api#errorType() error
+ * body} of unsuccessful calls.
+ *
+ * @param <T> Type of the deserialized body of successful responses.
+ * @since 18.10.2026
+ */
+public final class ApiResponse<T> {
+
+    private static final Set<Integer> RETRYABLE_STATUSES = ImmutableSet.of(408, 425, 429, 502, 503, 504);
+
+    private final int statusCode;
+    private final Multimap<String, String> headers;
+    private final T body;
+    private final Object error;
+    private final long elapsedNanos;
+
+    ApiResponse(int statusCode, Multimap<String, String> headers, T body, Object error, long elapsedNanos) {
+        this.statusCode = statusCode;
+        this.headers = Multimaps.unmodifiableMultimap(headers);
+        this.body = body;
+        this.error = error;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public Multimap<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return Deserialized body of a successful response, empty for unsuccessful ones and successful ones without a
+     *         body.
+     */
+    public Optional<T> getBody() {
+        return Optional.ofNullable(body);
+    }
+
+    /**
+     * @return Deserialized body of an unsuccessful response, if the API declares an {@link Api#errorType()} and the
+     *         response had a body of that type.
+     */
+    public <E> Optional<E> getError(Class<E> errorType) {
+        return Optional.ofNullable(error).filter(errorType::isInstance).map(errorType::cast);
+    }
+
+    /**
+     * @return Time from sending the request until the response was fully read.
+     */
+    public Duration getElapsed() {
+        return Duration.ofNanos(elapsedNanos);
+    }
+
+    /**
+     * @return <code>true</code> for <code>2xx</code> responses.
+     */
+    public boolean isSuccessful() {
+        return isSuccessful(statusCode);
+    }
+
+    /**
+     * @return <code>true</code> if the call failed in a way a later attempt may not, ie. timeouts, throttling and
+     *         unavailable upstreams. Client errors and other server errors are not retryable.
+     */
+    public boolean isRetryable() {
+        return isRetryable(statusCode);
+    }
+
+    static boolean isSuccessful(int statusCode) {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    static boolean isRetryable(int statusCode) {
+        return RETRYABLE_STATUSES.contains(statusCode);
+    }
+
+    @Override
+    public String toString() {
+        return "ApiResponse{statusCode=" + statusCode + ", body=" + body + ", error=" + error + ", elapsed=" + getElapsed() + "}";
+    }
+}
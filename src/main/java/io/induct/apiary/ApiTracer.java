@@ -0,0 +1,31 @@
+package io.induct.apiary;
+
+/**
+ * Hook for distributed tracing of the requests generated clients send. When bound, a span is started for every request
+ * sent, including each retry and hedge, just before it is handed to the HTTP client.
+ *
+ * @since 18.10.2026
+ */
+public interface ApiTracer {
+
+    /**
+     * Starts a span of given request. The trace context is propagated by setting its headers on the request with
+     * {@link ApiRequest#setHeader(String, String)}, which replaces the ones of earlier attempts.
+     */
+    Span start(ApiRequest request);
+
+    /**
+     * Span of a single request.
+     */
+    interface Span {
+        /**
+         * Called once the response status and headers have been received.
+         */
+        void finish(int statusCode);
+
+        /**
+         * Called if no response was received.
+         */
+        void fail(Throwable failure);
+    }
+}
@@ -1,260 +1,415 @@
 package io.induct.apiary;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.google.common.base.CaseFormat;
 import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Multimap;
 import com.google.common.collect.ObjectArrays;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Injector;
-import io.induct.http.builders.Request;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Named;
-import javax.tools.DiagnosticCollector;
-import javax.tools.JavaCompiler;
-import javax.tools.JavaFileObject;
-import javax.tools.StandardJavaFileManager;
-import javax.tools.ToolProvider;
 import java.io.IOException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
 import static io.induct.apiary.Client.*;
+import static io.induct.apiary.ClientDefinitions.pregeneratedFqn;
+import static io.induct.apiary.ClientDefinitions.targetFqn;
 
 /**
  * Apiary allows easy generation of HTTP API clients from interfaces marked with {@link Client} annotation.
  * To be usable, the interface has to have at least one {@link Api} annotated method.
  *
+ * Clients pregenerated at build time by {@link ClientProcessor} are used as is, all other clients are generated at
+ * runtime with the bound {@link ClientGenerator}.
+ *
  * @since 1.1.2016
  * @see Client
  * @see Api
  */
-public class Apiary extends ApiClient {
+public class Apiary extends ApiClient implements AutoCloseable {
 
+    /**
+     * Optional directory into which generated sources and bytecode are dumped for debugging purposes. Generation and
+     * compilation always happen in memory, so leaving this unbound is the recommended production setup.
+     */
     public static final String GENERATED_DIR_KEY = "apiary.generated.dir";
 
+    /**
+     * Optional directory for persistent cache of generated bytecode. Clients found from the cache are reused across JVM
+     * restarts instead of being generated again. The directory can be safely shared by multiple JVMs.
+     */
+    public static final String CACHE_DIR_KEY = "apiary.cache.dir";
+
+    private final Logger log = LoggerFactory.getLogger(Apiary.class);
+
     private final Injector injector;
 
+    private final ClientGenerator generator;
+
     private final FileSystem fs = FileSystems.getDefault();
 
-    private final Path targetRoot;
+    private final GeneratedClassLoader classLoader = new GeneratedClassLoader(Apiary.class.getClassLoader());
+
+    private final ConcurrentMap<Class<?>, CompletableFuture<Class<?>>> clientClasses = new ConcurrentHashMap<>();
+
+    private Path targetRoot;
+
+    private ClientCache cache;
 
     @Inject
-    public Apiary(@Named(GENERATED_DIR_KEY) String generatedDir, Injector injector) {
-        this.targetRoot = fs.getPath(generatedDir);
+    public Apiary(Injector injector, ClientGenerator generator) {
         this.injector = injector;
+        this.generator = generator;
+    }
+
+    public Apiary(String generatedDir, Injector injector) {
+        this(injector, new SourceClientGenerator());
+        setGeneratedDir(generatedDir);
+    }
+
+    @com.google.inject.Inject(optional = true)
+    void setGeneratedDir(@Named(GENERATED_DIR_KEY) String generatedDir) {
+        this.targetRoot = fs.getPath(generatedDir);
     }
 
-    private static final Function<Method, String> TYPE_REFERENCE_FIELDS_GENERATOR = (method) -> {
-        Class<?> returnType = method.getReturnType();
-        return "    private static final TypeReference<" + returnType.getSimpleName() + "> mappingOf" + returnType.getSimpleName() + "Type = new TypeReference<" + returnType.getSimpleName() + ">() {};\n";
-    };
+    @com.google.inject.Inject(optional = true)
+    void setCacheDir(@Named(CACHE_DIR_KEY) String cacheDir) {
+        this.cache = new ClientCache(fs.getPath(cacheDir));
+    }
 
+    /**
+     * Generates a client for given API defining interface and environment. Each interface is generated only once per
+     * Apiary instance regardless of environment, further calls only create new instances of the already generated
+     * class.
+     */
     public <T> T generateClient(Class<T> apiDefiningInterface, String targetEnvironmentName) {
-        Preconditions.checkNotNull(apiDefiningInterface, "Can not generate client implementation from null class");
-        Preconditions.checkArgument(apiDefiningInterface.isInterface(), "Class must be an interface");
         Client clientConfig = apiDefiningInterface.getDeclaredAnnotation(Client.class);
         Preconditions.checkNotNull(clientConfig, "Class must be annotated with " + Client.class.getName());
-        Environment targetEnv = resolveEnv(apiDefiningInterface, targetEnvironmentName, clientConfig);
+        return generateClient(apiDefiningInterface, ClientEnvironment.of(resolveEnv(apiDefiningInterface, targetEnvironmentName, clientConfig)));
+    }
 
-        String targetPackageName = clientConfig.targetPackage().replace("${root}", apiDefiningInterface.getPackage().getName());
-        String targetClassName = clientConfig.targetClassName().replace("${clientName}", apiDefiningInterface.getSimpleName());
-        String targetFqn = targetPackageName + "." + targetClassName;
+    /**
+     * Generates a client for given API defining interface running in an environment which may be defined outside of
+     * the interface's annotations, eg. in external configuration.
+     */
+    public <T> T generateClient(Class<T> apiDefiningInterface, ClientEnvironment targetEnvironment) {
+        T client = injector.getInstance(generateClientClass(apiDefiningInterface));
+        ((ApiClient) client).useEnvironment(apiDefiningInterface, targetEnvironment);
+        return client;
+    }
 
-        try {
-            String classSource = generateClassSource(apiDefiningInterface, targetPackageName, targetClassName, targetEnv);
+    /**
+     * Switches a generated client to another environment declared by its API defining interface. The switch applies to
+     * all calls made after it without regenerating the client, calls already in flight complete in the old environment.
+     *
+     * @param client Client created by {@link #generateClient(Class, String)}.
+     */
+    public void switchEnvironment(Object client, String targetEnvironmentName) {
+        Class<?> apiDefiningInterface = apiDefiningInterfaceOf(client);
+        switchEnvironment(client, ClientEnvironment.of(resolveEnv(apiDefiningInterface, targetEnvironmentName, apiDefiningInterface.getDeclaredAnnotation(Client.class))));
+    }
 
-            Path targetFile = createTargetFile(targetPackageName, targetClassName);
-            Path sourceFile = saveToFile(targetFile, classSource);
-            compile(sourceFile);
-            T instance = loadGeneratedClass(targetRoot, targetFqn);
-            return instance;
-        } catch (ApiaryException ae) {
-            throw new ApiaryException("Failed to generate client for API defining interface " + apiDefiningInterface, ae);
-        }
+    /**
+     * Switches a generated client to given environment snapshot, eg. one reloaded from external configuration.
+     *
+     * @see #switchEnvironment(Object, String)
+     */
+    public void switchEnvironment(Object client, ClientEnvironment targetEnvironment) {
+        Preconditions.checkNotNull(targetEnvironment, "Environment must not be null");
+        ((ApiClient) client).useEnvironment(apiDefiningInterfaceOf(client), targetEnvironment);
     }
 
-    private <T> Environment resolveEnv(Class<T> apiDefiningInterface, String targetEnvironmentName, Client clientConfig) {
-        Preconditions.checkNotNull(targetEnvironmentName, "You must specify the environment to run the client in");
-        Optional<Environment> possibleTargetEnvironment = Stream.of(clientConfig.environments()).filter(e -> e.name().equals(targetEnvironmentName)).findFirst();
-        Preconditions.checkArgument(possibleTargetEnvironment.isPresent(), "The interface " + apiDefiningInterface + " does not define an environment with name '" + targetEnvironmentName + "'");
-        return possibleTargetEnvironment.get();
+    /**
+     * @return Environment given client currently sends its calls to.
+     */
+    public ClientEnvironment getEnvironment(Object client) {
+        ApiClient apiClient = (ApiClient) client;
+        return apiClient.getEnvironment().orElseGet(() -> ClientEnvironment.of(apiDefiningInterfaceOf(client).getDeclaredAnnotation(Client.class).environments()[0]));
     }
 
-    private <T> T loadGeneratedClass(Path targetRoot, String targetFqn) {
-        try {
-            URLClassLoader classLoader = new URLClassLoader(new URL[]{ targetRoot.toUri().toURL() });
-            @SuppressWarnings("unchecked")
-            Class<T> cls = (Class<T>) classLoader.loadClass(targetFqn);
-            return injector.getInstance(cls);
-        } catch (MalformedURLException | ClassNotFoundException e) {
-            throw new ClientCompilationException("Failed to load class", e);
-        }
+    /**
+     * Resolves the client class for given API defining interface after checking that it declares given environment.
+     *
+     * @see #generateClientClass(Class)
+     */
+    public <T> Class<? extends T> generateClientClass(Class<T> apiDefiningInterface, String targetEnvironmentName) {
+        Preconditions.checkNotNull(apiDefiningInterface, "Can not generate client implementation from null class");
+        Client clientConfig = apiDefiningInterface.getDeclaredAnnotation(Client.class);
+        Preconditions.checkNotNull(clientConfig, "Class must be annotated with " + Client.class.getName());
+        resolveEnv(apiDefiningInterface, targetEnvironmentName, clientConfig);
+        return generateClientClass(apiDefiningInterface);
     }
 
-    private void compile(Path sourceFile) {
-        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
-            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
-            Iterable<String> compilerOptions = Arrays.asList(
-                    "-classpath", System.getProperty("java.class.path"),
-                    "-parameters");
-            Iterable<? extends JavaFileObject> javaFo = fileManager.getJavaFileObjects(sourceFile.toFile());
-
-            if (compiler.getTask(null, fileManager, diagnostics, compilerOptions, null, javaFo).call()
-                && diagnostics.getDiagnostics().isEmpty()) {
-                // everything's good to go!
-            } else {
-                throw new ClientCompilationException("Compilation of " + sourceFile + " failed", diagnostics.getDiagnostics());
+    /**
+     * Resolves the client class for given API defining interface, generating it if necessary. Concurrent calls for the
+     * same interface wait for a single generation to complete and all receive the same class. Instances of the class
+     * created without Apiary run in the first environment the interface declares.
+     */
+    public <T> Class<? extends T> generateClientClass(Class<T> apiDefiningInterface) {
+        Preconditions.checkNotNull(apiDefiningInterface, "Can not generate client implementation from null class");
+        CompletableFuture<Class<?>> client = clientClasses.get(apiDefiningInterface);
+        if (client == null) {
+            CompletableFuture<Class<?>> generating = new CompletableFuture<>();
+            client = clientClasses.putIfAbsent(apiDefiningInterface, generating);
+            if (client == null) {
+                try {
+                    Class<T> generated = resolveClientClass(apiDefiningInterface);
+                    generating.complete(generated);
+                    return generated;
+                } catch (RuntimeException | Error e) {
+                    // allow later calls to retry
+                    clientClasses.remove(apiDefiningInterface, generating);
+                    generating.completeExceptionally(e);
+                    throw e;
+                }
             }
-        } catch (IOException e) {
-            throw new ClientCompilationException("Failed to compile source file " + sourceFile, e);
         }
-    }
-
-    private Path saveToFile(Path target, String content) {
         try {
-            return Files.write(target, content.getBytes(Charsets.UTF_8));
-        } catch (IOException e) {
-            throw new ClientGenerationException("Failed to write source to file", e);
+            @SuppressWarnings("unchecked")
+            Class<? extends T> generated = (Class<? extends T>) client.join();
+            return generated;
+        } catch (CompletionException e) {
+            Throwables.propagateIfPossible(e.getCause());
+            throw new ApiaryException("Failed to generate client for API defining interface " + apiDefiningInterface, e.getCause());
         }
     }
 
-    private <T> Path createTargetFile(String targetPackage, String targetClassName) {
-        Path targetDir;
-        Path packageDir = targetRoot.resolve(targetPackage.replace(".", "/"));
+    /**
+     * Generates clients for all given interfaces in parallel, eg. to warm up the clients at application startup. Each
+     * interface is generated once, and is checked to declare all environments given for it.
+     *
+     * @param clients Environment names keyed with API defining interfaces.
+     * @param parallelism Maximum number of clients generated at the same time.
+     */
+    public void warmUp(Multimap<Class<?>, String> clients, int parallelism) {
+        Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive");
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+                .setNameFormat("apiary-warmup-%d")
+                .setDaemon(true)
+                .build());
         try {
-            if (!Files.exists(packageDir)) {
-                targetDir = Files.createDirectories(packageDir);
-            } else {
-                targetDir = packageDir;
-            }
-        } catch (IOException e) {
-            throw new ClientGenerationException("Cannot create directory " + packageDir, e);
+            warmUp(clients, executor).join();
+        } catch (CompletionException e) {
+            Throwables.propagateIfPossible(e.getCause());
+            throw new ApiaryException("Failed to warm up clients", e.getCause());
+        } finally {
+            executor.shutdown();
         }
-        Path targetFile = targetDir.resolve(Paths.get(targetClassName + ".java"));
-        try {
-            if (Files.exists(targetFile)) {
-                // TODO: Overwrite config flag
-                throw new ClientGenerationException("Target file already exists at path " + targetFile);
-            }
-            return Files.createFile(targetFile);
-        } catch (IOException e) {
-            throw new ClientGenerationException("Could not save generated source to " + targetFile, e);
+    }
+
+    /**
+     * Generates clients for all given interfaces asynchronously with given executor.
+     *
+     * @param clients Environment names keyed with API defining interfaces.
+     * @param executor Executor to generate the clients with.
+     * @return Future which completes when all clients have been generated, or exceptionally if any of them failed.
+     */
+    public CompletableFuture<Void> warmUp(Multimap<Class<?>, String> clients, Executor executor) {
+        return CompletableFuture.allOf(clients.entries().stream()
+                .map(client -> CompletableFuture.runAsync(() -> generateClientClass(client.getKey(), client.getValue()), executor))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Closes the <code>AsyncHttpClient</code>s derived from the bound one for the {@link ConnectionPool} settings of
+     * clients, if no {@link Transport} is bound. Clients of this injector must not be used afterwards. Bound clients
+     * and transports are owned by the application, which closes them itself.
+     */
+    @Override
+    public void close() {
+        if (transport instanceof DefaultTransport) {
+            ((DefaultTransport) transport).close();
         }
     }
 
-    private <T> String generateClassSource(
-        Class<T> apiDefiningInterface,
-        String targetPackageName,
-        String targetClassName,
-        Environment env) {
+    /**
+     * Opens a scope for fanning out blocking calls of generated clients. Calls forked in the scope run on virtual
+     * threads on JDKs which support them, and on a shared pool of daemon threads otherwise.
+     *
+     * @see CallScope
+     */
+    public CallScope openScope() {
+        return new CallScope(ScopedCalls.EXECUTOR);
+    }
+
+    /**
+     * @return Counters of the {@link Client#rateLimit() client wide rate limit} of given API defining interface, if it
+     *         declares one.
+     */
+    public Optional<RateLimitStats> getRateLimitStats(Class<?> apiDefiningInterface) {
+        return CallLimiter.ofClient(apiDefiningInterface).map(CallLimiter::getStats);
+    }
+
+    /**
+     * @return Counters of the {@link Api#rateLimit() rate limit} of given API method, if it declares one.
+     */
+    public Optional<RateLimitStats> getRateLimitStats(java.lang.reflect.Method apiMethod) {
+        return CallLimiter.ofApi(apiMethod).map(CallLimiter::getStats);
+    }
+
+    /**
+     * @return Counters of the {@link CallPolicy} in effect for given API method, if any.
+     */
+    public Optional<CallPolicyStats> getCallPolicyStats(java.lang.reflect.Method apiMethod) {
+        return CallPolicyEnforcer.of(apiMethod).map(CallPolicyEnforcer::getStats);
+    }
+
+    /**
+     * @return Counters of each root of given environment in order, or nothing if it has only one root.
+     */
+    public List<HostStats> getHostStats(Class<?> apiDefiningInterface, String targetEnvironmentName) {
+        Environment targetEnv = resolveEnv(apiDefiningInterface, targetEnvironmentName, apiDefiningInterface.getDeclaredAnnotation(Client.class));
+        return getHostStats(apiDefiningInterface, ClientEnvironment.of(targetEnv));
+    }
+
+    /**
+     * @return Counters of each root of given environment in order, or nothing if it has only one root.
+     */
+    public List<HostStats> getHostStats(Class<?> apiDefiningInterface, ClientEnvironment targetEnvironment) {
+        return LoadBalancer.of(apiDefiningInterface, targetEnvironment).map(LoadBalancer::getStats).orElse(Collections.emptyList());
+    }
+
+    private Class<?> apiDefiningInterfaceOf(Object client) {
+        Preconditions.checkArgument(client instanceof ApiClient, "Not a generated client: " + client);
+        return Stream.of(client.getClass().getInterfaces())
+                .filter(cls -> cls.isAnnotationPresent(Client.class))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Not a generated client: " + client));
+    }
+
+    private <T> Class<T> resolveClientClass(Class<T> apiDefiningInterface) {
+        Preconditions.checkArgument(apiDefiningInterface.isInterface(), "Class must be an interface");
         Client clientConfig = apiDefiningInterface.getDeclaredAnnotation(Client.class);
+        Preconditions.checkNotNull(clientConfig, "Class must be annotated with " + Client.class.getName());
 
-        String packageDefinition = "package " + targetPackageName + ";\n\n";
+        String targetFqn = targetFqn(clientConfig, apiDefiningInterface.getPackage().getName(), apiDefiningInterface.getSimpleName());
 
-        Stream<Class> allImports = Stream.concat(
-                Stream.of(apiDefiningInterface, ApiClient.class, Request.class, TypeReference.class),
-                findApiMethods(apiDefiningInterface).map(Method::getReturnType)
-        );
+        Optional<Class<T>> pregenerated = findPregeneratedClass(apiDefiningInterface, pregeneratedFqn(targetFqn));
+        if (pregenerated.isPresent()) {
+            log.debug("Using pregenerated client " + pregenerated.get().getName());
+            return pregenerated.get();
+        }
 
-        String imports = String.join("", allImports
-                .map((cls) -> "import " + cls.getName() + ";\n")
-                .sorted()
-                .collect(Collectors.toList()));
+        try {
+            if (cache == null) {
+                return loadGeneratedClass(apiDefiningInterface, targetFqn, generate(apiDefiningInterface, targetFqn).getClasses());
+            }
 
-        String classDefinition = "\npublic class "
-                + targetClassName + " extends "
-                + ApiClient.class.getSimpleName()
-                + " implements "
-                + apiDefiningInterface.getSimpleName()
-                + " {\n";
+            String cacheKey = cache.fingerprint(apiDefiningInterface, targetFqn, generator);
+            Optional<GeneratedClient> cached = cache.load(cacheKey, targetFqn);
+            if (cached.isPresent()) {
+                try {
+                    return loadGeneratedClass(apiDefiningInterface, targetFqn, cached.get().getClasses());
+                } catch (ClientCompilationException e) {
+                    log.warn("Cached client " + targetFqn + " could not be loaded, regenerating", e);
+                }
+            }
+            GeneratedClient generated = generate(apiDefiningInterface, targetFqn);
+            cache.store(cacheKey, generated);
+            return loadGeneratedClass(apiDefiningInterface, targetFqn, generated.getClasses());
+        } catch (ApiaryException ae) {
+            throw new ApiaryException("Failed to generate client for API defining interface " + apiDefiningInterface, ae);
+        }
+    }
 
-        String staticFields = String.join("", findApiMethods(apiDefiningInterface).map(TYPE_REFERENCE_FIELDS_GENERATOR).collect(Collectors.toList()));
+    private GeneratedClient generate(Class<?> apiDefiningInterface, String targetFqn) {
+        GeneratedClient generated = generator.generate(apiDefiningInterface, targetFqn);
+        if (targetRoot != null) {
+            dump(generated);
+        }
+        return generated;
+    }
 
-        String methods = String.join(", ", generateMethods(findApiMethods(apiDefiningInterface), clientConfig.paramFormat(), env).collect(Collectors.toList()));
+    private Environment resolveEnv(Class<?> apiDefiningInterface, String targetEnvironmentName, Client clientConfig) {
+        Preconditions.checkNotNull(targetEnvironmentName, "You must specify the environment to run the client in");
+        Optional<Environment> possibleTargetEnvironment = Stream.of(clientConfig.environments()).filter(e -> e.name().equals(targetEnvironmentName)).findFirst();
+        Preconditions.checkArgument(possibleTargetEnvironment.isPresent(), "The interface " + apiDefiningInterface + " does not define an environment with name '" + targetEnvironmentName + "'");
+        return possibleTargetEnvironment.get();
+    }
 
-        return packageDefinition
-                + imports
-                + classDefinition
-                + staticFields
-                + methods
-                + "}\n";
+    private <T> Optional<Class<T>> findPregeneratedClass(Class<T> apiDefiningInterface, String pregeneratedFqn) {
+        try {
+            Class<?> cls = Class.forName(pregeneratedFqn, false, apiDefiningInterface.getClassLoader());
+            if (apiDefiningInterface.isAssignableFrom(cls)) {
+                @SuppressWarnings("unchecked")
+                Class<T> clientClass = (Class<T>) cls;
+                return Optional.of(clientClass);
+            }
+            log.warn("Ignoring pregenerated client " + pregeneratedFqn + " which does not implement " + apiDefiningInterface);
+        } catch (ClassNotFoundException e) {
+            // not pregenerated, fall through to runtime generation
+        }
+        return Optional.empty();
     }
 
-    private Stream<String> generateMethods(Stream<Method> apiMethods, CaseFormat apiParamFormat, Environment env) {
-        return apiMethods.map((methodRef) -> {
-            StringBuilder methodSource = new StringBuilder();
-            String returnTypeFqn = methodRef.getReturnType().getName();
-            methodSource.append("    public ").append(returnTypeFqn).append(" ").append(methodRef.getName()).append("(");
-
-            Parameter[] methodParams = methodRef.getParameters();
-            String params = String.join(", ", Stream.of(methodParams)
-                .map((param) -> param.getType().getName() + " " + param.getName())
-                .collect(Collectors.toList()));
-            methodSource.append(params);
-
-            methodSource.append(") {\n");
-
-            methodSource.append("        Request request = createRequestBuilder()\n");
-
-            Api apiConfig = methodRef.getAnnotation(Api.class);
-            String apiUrl = resolveApiUrl(env, apiConfig);
-
-            methodSource.append("                .withUrl(\"").append(apiUrl).append("\")\n");
-            if (methodParams.length > 0) {
-                methodSource.append("                .withParams(params -> {\n");
-                for (Parameter param : methodParams) {
-                    String methodParamName = param.getName();
-                    String apiParamName = CaseFormat.LOWER_CAMEL.to(apiParamFormat, methodParamName);
-                    if (param.getType().isAssignableFrom(Optional.class)) {
-                        methodSource.append("                    if (").append(methodParamName).append(".isPresent()) {\n")
-                            .append("                        params.put(\"")
-                            .append(apiParamName).append("\", ")
-                            .append("asString(").append(methodParamName).append(".get())")
-                            .append(");\n")
-                            .append("                    }\n");
-                    } else {
-                        methodSource.append("                    params.put(\"")
-                            .append(apiParamName).append("\", ")
-                            .append("asString(").append(methodParamName).append(")")
-                            .append(");\n");
-                    }
-                }
-                methodSource.append("                })\n");
+    private <T> Class<T> loadGeneratedClass(Class<T> apiDefiningInterface, String targetFqn, Map<String, byte[]> classes) {
+        GeneratedClassLoader loader = classLoader;
+        if (!loader.canSee(apiDefiningInterface) || !loader.register(classes)) {
+            // interface lives in a class loader we can't see or the same client was already generated with different
+            // content, eg. by another generator backend; both have to be isolated to a class loader of their own
+            loader = new GeneratedClassLoader(apiDefiningInterface.getClassLoader());
+            loader.register(classes);
+        }
+        try {
+            @SuppressWarnings("unchecked")
+            Class<T> cls = (Class<T>) Class.forName(targetFqn, true, loader);
+            return cls;
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new ClientCompilationException("Failed to load class", e);
+        }
+    }
+
+    private void dump(GeneratedClient generated) {
+        String targetFqn = generated.getClassName();
+        try {
+            if (generated.getSource().isPresent()) {
+                saveToFile(targetRoot.resolve(targetFqn.replace(".", "/") + ".java"), generated.getSource().get().getBytes(Charsets.UTF_8));
+            }
+            for (Map.Entry<String, byte[]> cls : generated.getClasses().entrySet()) {
+                saveToFile(targetRoot.resolve(cls.getKey().replace(".", "/") + ".class"), cls.getValue());
             }
+        } catch (ClientGenerationException e) {
+            log.warn("Failed to dump generated client " + targetFqn + " to " + targetRoot, e);
+        }
+    }
 
-            methodSource.append("                .build();\n");
-            methodSource.append("        return handleApiCall(request, mappingOf").append(methodRef.getReturnType().getSimpleName()).append("Type);\n");
-            methodSource.append("    }\n");
-            return methodSource.toString();
-        });
+    private Path saveToFile(Path target, byte[] content) {
+        try {
+            Files.createDirectories(target.getParent());
+            return Files.write(target, content);
+        } catch (IOException e) {
+            throw new ClientGenerationException("Failed to write generated content to file " + target, e);
+        }
     }
 
     private <T> T firstNonNull(T first, T... more) {
         return ObjectArrays.concat(first, more)[0];
     }
 
-    private String resolveApiUrl(Environment targetEnv, Api apiConfig) {
-        return targetEnv.root() + apiConfig.path();
-    }
 
-    private <T> Stream<Method> findApiMethods(Class<T> apiDefiningInterface) {
-        return Stream.of(apiDefiningInterface.getDeclaredMethods())
-                .filter(m -> m.isAnnotationPresent(Api.class));
+    /**
+     * Threads of the calls forked in {@link CallScope}s, created only once a scope is opened.
+     */
+    private static class ScopedCalls {
+        static final ExecutorService EXECUTOR = VirtualThreads.newExecutor("apiary-scope-");
     }
-
 }
@@ -0,0 +1,15 @@
+package io.induct.apiary;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Threads for asynchronous calls which can only be executed by blocking, virtual ones where supported.
+ *
+ * @since 18.10.2026
+ */
+final class BlockingCalls {
+    static final Executor EXECUTOR = VirtualThreads.newExecutor("apiary-blocking-");
+
+    private BlockingCalls() {
+    }
+}
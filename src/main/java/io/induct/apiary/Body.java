@@ -0,0 +1,20 @@
+package io.induct.apiary;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the parameter of an {@link Api} method which is sent as the request body instead of a query parameter. At most
+ * one parameter per method may be marked, and only for APIs whose {@link Api#method()} is not <code>GET</code>.
+ *
+ * <code>InputStream</code>, <code>ByteBuffer</code>, <code>byte[]</code>, <code>File</code> and <code>Path</code>
+ * arguments are sent as is, without copying them into memory. Anything else is serialized as JSON.
+ *
+ * @since 18.10.2026
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Body {
+}
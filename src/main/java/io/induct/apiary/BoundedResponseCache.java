@@ -0,0 +1,55 @@
+package io.induct.apiary;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * Default {@link ResponseCache} keeping entries in memory, bounded by total size of the cached responses. Least recently
+ * used entries are evicted first.
+ *
+ * @since 18.10.2026
+ */
+@Singleton
+public class BoundedResponseCache implements ResponseCache {
+
+    /**
+     * Optional maximum total size in bytes of cached responses. Defaults to 64 megabytes.
+     */
+    public static final String MAX_BYTES_KEY = "apiary.responseCache.maxBytes";
+
+    private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private final ResponseCacheStats stats = new ResponseCacheStats();
+
+    private Cache<String, CachedResponse> entries = build(DEFAULT_MAX_BYTES);
+
+    @com.google.inject.Inject(optional = true)
+    void setMaxBytes(@Named(MAX_BYTES_KEY) long maxBytes) {
+        this.entries = build(maxBytes);
+    }
+
+    @Override
+    public CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    @Override
+    public ResponseCacheStats getStats() {
+        return stats;
+    }
+
+    private static Cache<String, CachedResponse> build(long maxBytes) {
+        return CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> key.length() + response.getWeight())
+                .build();
+    }
+}
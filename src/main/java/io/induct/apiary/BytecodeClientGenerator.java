@@ -0,0 +1,254 @@
+package io.induct.apiary;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.collect.ImmutableMap;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
+import org.objectweb.asm.commons.Method;
+
+import java.lang.reflect.Parameter;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.induct.apiary.ClientDefinitions.*;
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * {@link ClientGenerator} which emits the client class directly as bytecode. As no Java compiler is involved this
+ * backend works on plain JRE installations and generates clients orders of magnitude faster than
+ * {@link SourceClientGenerator}, which remains the reference implementation the generated clients behave identically
+ * to.
+ *
+ * Every generated API method builds an {@link ApiRequest} with {@link ApiClient#newRequest(ApiMethod, String)},
+ * converting each argument with the {@link ParamEncoding} matching its declared type, and delegates to the
+ * {@link CallMode} specific call handler such as {@link ApiClient#handleApiCall(ApiRequest, TypeReference)}. Response
+ * type mappings and {@link UrlTemplate path templates} are resolved once in static fields of the generated class.
+ *
+ * @since 18.10.2026
+ */
+public class BytecodeClientGenerator implements ClientGenerator {
+
+    private static final Type API_CLIENT = Type.getType(ApiClient.class);
+    private static final Type TYPE_REFERENCE = Type.getType(TypeReference.class);
+    private static final Type API_REQUEST = Type.getType(ApiRequest.class);
+    private static final Type API_METHOD = Type.getType(ApiMethod.class);
+    private static final Type CLASS = Type.getType(Class.class);
+    private static final Type STRING = Type.getType(String.class);
+    private static final Type OBJECT = Type.getType(Object.class);
+    private static final Type OPTIONAL = Type.getType(Optional.class);
+    private static final Type URL_TEMPLATE = Type.getType(UrlTemplate.class);
+
+    private static final Method CONSTRUCTOR = new Method("<init>", Type.VOID_TYPE, new Type[0]);
+    private static final Method STATIC_INITIALIZER = new Method("<clinit>", Type.VOID_TYPE, new Type[0]);
+    private static final Method RESPONSE_TYPE_OF = new Method("responseTypeOf", TYPE_REFERENCE, new Type[]{CLASS, STRING, Type.getType(Class[].class)});
+    private static final Method API_METHOD_OF = new Method("of", API_METHOD, new Type[]{CLASS, STRING, Type.getType(Class[].class)});
+    private static final Method NEW_REQUEST = new Method("newRequest", API_REQUEST, new Type[]{API_METHOD, STRING});
+    private static final Method PARAM = new Method("param", API_REQUEST, new Type[]{STRING, STRING});
+    private static final Method BODY = new Method("body", API_REQUEST, new Type[]{OBJECT});
+    private static final Method AS_STRING = new Method("asString", STRING, new Type[]{OBJECT});
+    private static final Method TO_STRING = new Method("toString", STRING, new Type[0]);
+    private static final Method IS_PRESENT = new Method("isPresent", Type.BOOLEAN_TYPE, new Type[0]);
+    private static final Method GET = new Method("get", OBJECT, new Type[0]);
+    private static final Method COMPILE = new Method("compile", URL_TEMPLATE, new Type[]{STRING});
+    private static final Method EXPAND = new Method("expand", STRING, new Type[]{Type.getType(String[].class)});
+
+    @Override
+    public GeneratedClient generate(Class<?> apiDefiningInterface, String targetFqn) {
+        Client clientConfig = apiDefiningInterface.getDeclaredAnnotation(Client.class);
+        Type targetType = Type.getObjectType(targetFqn.replace('.', '/'));
+        List<java.lang.reflect.Method> apiMethods = findApiMethods(apiDefiningInterface).collect(Collectors.toList());
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_SUPER, targetType.getInternalName(), null, API_CLIENT.getInternalName(),
+                new String[]{Type.getInternalName(apiDefiningInterface)});
+
+        GeneratorAdapter constructor = new GeneratorAdapter(ACC_PUBLIC, CONSTRUCTOR, null, null, cw);
+        constructor.loadThis();
+        constructor.invokeConstructor(API_CLIENT, CONSTRUCTOR);
+        constructor.returnValue();
+        constructor.endMethod();
+
+        GeneratorAdapter staticInitializer = new GeneratorAdapter(ACC_STATIC, STATIC_INITIALIZER, null, null, cw);
+        for (int i = 0; i < apiMethods.size(); i++) {
+            java.lang.reflect.Method methodRef = apiMethods.get(i);
+            String typeField = typeField(methodRef, i);
+            String methodField = methodField(methodRef, i);
+            String pathField = pathField(methodRef, i);
+            String apiPath = methodRef.getAnnotation(Api.class).path();
+            List<String> pathVariables = pathVariables(methodRef);
+            bodyParam(methodRef);
+            cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, typeField, TYPE_REFERENCE.getDescriptor(), null, null).visitEnd();
+            cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, methodField, API_METHOD.getDescriptor(), null, null).visitEnd();
+
+            pushMethodReference(staticInitializer, apiDefiningInterface, methodRef);
+            staticInitializer.invokeStatic(API_CLIENT, RESPONSE_TYPE_OF);
+            staticInitializer.putStatic(targetType, typeField, TYPE_REFERENCE);
+
+            pushMethodReference(staticInitializer, apiDefiningInterface, methodRef);
+            staticInitializer.invokeStatic(API_METHOD, API_METHOD_OF);
+            staticInitializer.putStatic(targetType, methodField, API_METHOD);
+
+            if (!pathVariables.isEmpty()) {
+                cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, pathField, URL_TEMPLATE.getDescriptor(), null, null).visitEnd();
+                staticInitializer.push(apiPath);
+                staticInitializer.invokeStatic(URL_TEMPLATE, COMPILE);
+                staticInitializer.putStatic(targetType, pathField, URL_TEMPLATE);
+            }
+
+            generateMethod(cw, targetType, methodRef, clientConfig, typeField, methodField, pathField, apiPath, pathVariables);
+        }
+        staticInitializer.returnValue();
+        staticInitializer.endMethod();
+
+        cw.visitEnd();
+        return new GeneratedClient(targetFqn, ImmutableMap.of(targetFqn, cw.toByteArray()), Optional.empty());
+    }
+
+    /**
+     * Pushes the API defining interface, method name and parameter types of given method, as expected by
+     * {@link ApiMethod#of(Class, String, Class[])}.
+     */
+    private void pushMethodReference(GeneratorAdapter mg, Class<?> apiDefiningInterface, java.lang.reflect.Method methodRef) {
+        mg.push(Type.getType(apiDefiningInterface));
+        mg.push(methodRef.getName());
+        Class<?>[] parameterTypes = methodRef.getParameterTypes();
+        mg.push(parameterTypes.length);
+        mg.newArray(CLASS);
+        for (int j = 0; j < parameterTypes.length; j++) {
+            mg.dup();
+            mg.push(j);
+            mg.push(Type.getType(parameterTypes[j]));
+            mg.arrayStore(CLASS);
+        }
+    }
+
+    private void generateMethod(ClassWriter cw, Type targetType, java.lang.reflect.Method methodRef, Client clientConfig,
+                                String typeField, String methodField, String pathField, String apiPath, List<String> pathVariables) {
+        Method method = Method.getMethod(methodRef);
+        Type[] exceptions = Stream.of(methodRef.getExceptionTypes()).map(Type::getType).toArray(Type[]::new);
+        GeneratorAdapter mg = new GeneratorAdapter(ACC_PUBLIC, method, null, exceptions, cw);
+        Parameter[] params = methodRef.getParameters();
+        for (Parameter param : params) {
+            mg.visitParameter(param.getName(), 0);
+        }
+
+        // ApiRequest request = newRequest(methodField, apiPath), or pathField.expand(pathVariables...) for templates
+        mg.loadThis();
+        mg.getStatic(targetType, methodField, API_METHOD);
+        if (pathVariables.isEmpty()) {
+            mg.push(apiPath);
+        } else {
+            mg.getStatic(targetType, pathField, URL_TEMPLATE);
+            mg.push(pathVariables.size());
+            mg.newArray(STRING);
+            for (int j = 0; j < pathVariables.size(); j++) {
+                mg.dup();
+                mg.push(j);
+                encodeArg(mg, targetType, params, indexOf(params, pathVariables.get(j)));
+                mg.arrayStore(STRING);
+            }
+            mg.invokeVirtual(URL_TEMPLATE, EXPAND);
+        }
+        mg.invokeVirtual(targetType, NEW_REQUEST);
+        int request = mg.newLocal(API_REQUEST);
+        mg.storeLocal(request);
+
+        // request.param(apiName, encoded arg) for every argument not bound to the path or body, skipping empty optionals
+        for (int i = 0; i < params.length; i++) {
+            if (pathVariables.contains(params[i].getName())) {
+                continue;
+            }
+            if (params[i].isAnnotationPresent(Body.class)) {
+                mg.loadLocal(request);
+                mg.loadArg(i);
+                mg.box(Type.getType(params[i].getType()));
+                mg.invokeVirtual(API_REQUEST, BODY);
+                mg.pop();
+                continue;
+            }
+            Label skip = mg.newLabel();
+            if (ParamEncoding.of(params[i].getType()) == ParamEncoding.OPTIONAL) {
+                mg.loadArg(i);
+                mg.invokeVirtual(OPTIONAL, IS_PRESENT);
+                mg.ifZCmp(GeneratorAdapter.EQ, skip);
+            }
+            mg.loadLocal(request);
+            mg.push(apiParamName(clientConfig.paramFormat(), params[i].getName()));
+            encodeArg(mg, targetType, params, i);
+            mg.invokeVirtual(API_REQUEST, PARAM);
+            mg.pop();
+            mg.mark(skip);
+        }
+
+        // handleApiCall(request, typeField), or other handler matching the call mode
+        mg.loadThis();
+        mg.loadLocal(request);
+        mg.getStatic(targetType, typeField, TYPE_REFERENCE);
+        CallMode callMode = CallMode.of(methodRef.getReturnType());
+        mg.invokeVirtual(targetType, new Method(callMode.getHandlerName(), Type.getType(callMode.getHandlerReturnType()), new Type[]{API_REQUEST, TYPE_REFERENCE}));
+
+        if (method.getReturnType().getSort() == Type.VOID) {
+            mg.pop();
+        } else {
+            mg.unbox(method.getReturnType());
+        }
+        mg.returnValue();
+        mg.endMethod();
+    }
+
+    /**
+     * Pushes given argument converted into a parameter value, mirroring the expressions rendered by
+     * {@link ClientSourceTemplate}. Optional arguments are expected to be present.
+     */
+    private void encodeArg(GeneratorAdapter mg, Type targetType, Parameter[] params, int index) {
+        Class<?> paramType = params[index].getType();
+        switch (ParamEncoding.of(paramType)) {
+            case PRIMITIVE:
+                mg.loadArg(index);
+                Type primitive = paramType == byte.class || paramType == short.class ? Type.INT_TYPE : Type.getType(paramType);
+                mg.invokeStatic(STRING, new Method("valueOf", STRING, new Type[]{primitive}));
+                break;
+            case STRING:
+                mg.loadArg(index);
+                break;
+            case TO_STRING:
+                mg.loadArg(index);
+                mg.invokeVirtual(OBJECT, TO_STRING);
+                break;
+            case OPTIONAL:
+                mg.loadArg(index);
+                mg.invokeVirtual(OPTIONAL, GET);
+                mg.invokeVirtual(OBJECT, TO_STRING);
+                break;
+            default:
+                mg.loadThis();
+                mg.loadArg(index);
+                mg.invokeVirtual(targetType, AS_STRING);
+        }
+    }
+
+    private static int indexOf(Parameter[] params, String name) {
+        for (int i = 0; i < params.length; i++) {
+            if (params[i].getName().equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No parameter named " + name);
+    }
+
+    private String typeField(java.lang.reflect.Method methodRef, int index) {
+        return methodRef.getName() + "Type" + index;
+    }
+
+    private String pathField(java.lang.reflect.Method methodRef, int index) {
+        return methodRef.getName() + "Path" + index;
+    }
+
+    private String methodField(java.lang.reflect.Method methodRef, int index) {
+        return methodRef.getName() + "Method" + index;
+    }
+}
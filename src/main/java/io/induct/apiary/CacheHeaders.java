@@ -0,0 +1,83 @@
+package io.induct.apiary;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Multimap;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads HTTP caching headers of responses, see <a href="https://tools.ietf.org/html/rfc7234">RFC 7234</a>.
+ *
+ * @since 18.10.2026
+ */
+final class CacheHeaders {
+
+    private static final Splitter DIRECTIVES = Splitter.on(',').trimResults().omitEmptyStrings();
+
+    private CacheHeaders() {}
+
+    /**
+     * @return <code>false</code> if the response must not be stored at all.
+     */
+    static boolean isStorable(Multimap<String, String> headers) {
+        return !hasDirective(headers, "no-store");
+    }
+
+    /**
+     * @return Time in epoch milliseconds until which a response received at <code>now</code> is fresh.
+     */
+    static long expiresAt(Multimap<String, String> headers, long now, long defaultTtlMillis) {
+        if (hasDirective(headers, "no-cache")) {
+            return now;
+        }
+        for (String directive : directives(headers)) {
+            if (directive.startsWith("max-age=")) {
+                try {
+                    return now + TimeUnit.SECONDS.toMillis(Long.parseLong(directive.substring("max-age=".length())));
+                } catch (NumberFormatException e) {
+                    return now;
+                }
+            }
+        }
+        Optional<String> expires = header(headers, "Expires");
+        if (expires.isPresent()) {
+            try {
+                return ZonedDateTime.parse(expires.get(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                // invalid dates, such as "0", mean already expired
+                return now;
+            }
+        }
+        return now + defaultTtlMillis;
+    }
+
+    /**
+     * @return First value of given header, matched case insensitively.
+     */
+    static Optional<String> header(Multimap<String, String> headers, String name) {
+        for (Map.Entry<String, String> header : headers.entries()) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                return Optional.of(header.getValue());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static boolean hasDirective(Multimap<String, String> headers, String name) {
+        for (String directive : directives(headers)) {
+            if (directive.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Iterable<String> directives(Multimap<String, String> headers) {
+        return DIRECTIVES.split(header(headers, "Cache-Control").orElse("").toLowerCase());
+    }
+}
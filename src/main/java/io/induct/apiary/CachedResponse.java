@@ -0,0 +1,87 @@
+package io.induct.apiary;
+
+import java.util.Optional;
+
+/**
+ * Successful response stored in a {@link ResponseCache}, either as the raw body or, for
+ * {@link Api.Cache#immutable() immutable} response types, as the deserialized object.
+ *
+ * @since 18.10.2026
+ */
+public final class CachedResponse {
+    private final byte[] body;
+    private final DataFormat format;
+    private final Object value;
+    private final int weight;
+    private final long expiresAt;
+    private final Optional<String> etag;
+    private final Optional<String> lastModified;
+
+    CachedResponse(byte[] body, DataFormat format, Object value, int weight, long expiresAt, Optional<String> etag, Optional<String> lastModified) {
+        this.body = body;
+        this.format = format;
+        this.value = value;
+        this.weight = weight;
+        this.expiresAt = expiresAt;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @return Raw response body, or <code>null</code> if the deserialized value is cached instead.
+     */
+    byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * @return Format of the raw response body, or <code>null</code> if it is JSON.
+     */
+    DataFormat getFormat() {
+        return format;
+    }
+
+    Object getValue() {
+        return value;
+    }
+
+    /**
+     * @return Approximate size of the entry in bytes, for weight bounded caches.
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return Time in epoch milliseconds after which the entry must be revalidated before use.
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isFresh(long now) {
+        return now < expiresAt;
+    }
+
+    /**
+     * @return Whether a stale entry can be revalidated with a conditional request.
+     */
+    public boolean isRevalidatable() {
+        return etag.isPresent() || lastModified.isPresent();
+    }
+
+    public Optional<String> getEtag() {
+        return etag;
+    }
+
+    public Optional<String> getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return Copy of this entry with new expiry time, used after successful revalidation.
+     */
+    CachedResponse withExpiresAt(long expiresAt) {
+        return new CachedResponse(body, format, value, weight, expiresAt, etag, lastModified);
+    }
+}
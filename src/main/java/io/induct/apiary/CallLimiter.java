@@ -0,0 +1,225 @@
+package io.induct.apiary;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Enforces a single {@link RateLimit}. The request rate is a token bucket implemented as a generic cell rate algorithm
+ * over one atomic timestamp, and the concurrency limit is a semaphore, so admitting calls never takes a lock.
+ *
+ * Limiters are shared by all clients of the same API defining interface, regardless of environment or client instance.
+ *
+ * @since 18.10.2026
+ */
+final class CallLimiter {
+
+    private static final ClassValue<Optional<CallLimiter>> CLIENT_LIMITERS = new ClassValue<Optional<CallLimiter>>() {
+        @Override
+        protected Optional<CallLimiter> computeValue(Class<?> apiDefiningInterface) {
+            return create(apiDefiningInterface.getSimpleName(), apiDefiningInterface.getDeclaredAnnotation(Client.class).rateLimit());
+        }
+    };
+
+    private static final ClassValue<ConcurrentMap<Method, Optional<CallLimiter>>> API_LIMITERS = new ClassValue<ConcurrentMap<Method, Optional<CallLimiter>>>() {
+        @Override
+        protected ConcurrentMap<Method, Optional<CallLimiter>> computeValue(Class<?> apiDefiningInterface) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final String name;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final long maxWaitNanos;
+    private final int queueDepth;
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+    private final Semaphore concurrency;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final RateLimitStats stats = new RateLimitStats();
+
+    private CallLimiter(String name, RateLimit config) {
+        this.name = name;
+        this.intervalNanos = config.requestsPerSecond() > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / config.requestsPerSecond()) : 0;
+        this.toleranceNanos = intervalNanos * Math.max(0, config.burst() - 1);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(config.maxWaitMillis());
+        this.queueDepth = config.queueDepth();
+        this.concurrency = config.maxConcurrent() > 0 ? new Semaphore(config.maxConcurrent()) : null;
+    }
+
+    /**
+     * @return Limiter of given client, if it declares any limits.
+     */
+    static Optional<CallLimiter> ofClient(Class<?> apiDefiningInterface) {
+        return CLIENT_LIMITERS.get(apiDefiningInterface);
+    }
+
+    /**
+     * @return Limiter of given API method, if it declares any limits.
+     */
+    static Optional<CallLimiter> ofApi(Method apiMethod) {
+        return API_LIMITERS.get(apiMethod.getDeclaringClass())
+                .computeIfAbsent(apiMethod, m -> create(m.getDeclaringClass().getSimpleName() + "." + m.getName(), m.getAnnotation(Api.class).rateLimit()));
+    }
+
+    private static Optional<CallLimiter> create(String name, RateLimit config) {
+        if (config.requestsPerSecond() <= 0 && config.maxConcurrent() <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new CallLimiter(name, config));
+    }
+
+    /**
+     * Admits a call through all given limiters, waiting if needed. Every successful call must be followed by
+     * {@link #releaseAll(List)} once the call has completed.
+     *
+     * @throws RateLimitExceededException if any of the limiters rejects the call.
+     */
+    static void acquireAll(List<CallLimiter> limiters) {
+        for (int i = 0; i < limiters.size(); i++) {
+            try {
+                limiters.get(i).acquire();
+            } catch (RuntimeException e) {
+                releaseAll(limiters.subList(0, i));
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Admits a call through all given limiters only if none of them requires waiting.
+     *
+     * @return <code>false</code> if the call was not admitted, in which case nothing needs to be released.
+     */
+    static boolean tryAcquireAll(List<CallLimiter> limiters) {
+        for (int i = 0; i < limiters.size(); i++) {
+            if (!limiters.get(i).tryAcquire()) {
+                releaseAll(limiters.subList(0, i));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static void releaseAll(List<CallLimiter> limiters) {
+        for (CallLimiter limiter : limiters) {
+            limiter.release();
+        }
+    }
+
+    RateLimitStats getStats() {
+        return stats;
+    }
+
+    void acquire() {
+        long start = System.nanoTime();
+        boolean waiting = false;
+        try {
+            long rateWait = reserve(start, true);
+            if (rateWait < 0) {
+                throw reject(start, "request rate exceeded");
+            }
+            if (rateWait > 0) {
+                waiting = enqueue();
+                if (!waiting) {
+                    throw reject(start, "queue is full");
+                }
+                awaitSlot(start + rateWait);
+            }
+            if (concurrency != null && !concurrency.tryAcquire()) {
+                if (!waiting) {
+                    waiting = enqueue();
+                    if (!waiting) {
+                        throw reject(start, "too many concurrent calls");
+                    }
+                }
+                long remaining = maxWaitNanos - (System.nanoTime() - start);
+                if (!concurrency.tryAcquire(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+                    throw reject(start, "too many concurrent calls");
+                }
+            }
+            stats.recordAdmitted(System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject(start, "interrupted while waiting");
+        } finally {
+            if (waiting) {
+                queued.decrementAndGet();
+            }
+        }
+    }
+
+    boolean tryAcquire() {
+        // the permit is taken first, as it can be given back unlike a reserved rate slot
+        if (concurrency != null && !concurrency.tryAcquire()) {
+            return false;
+        }
+        if (reserve(System.nanoTime(), false) != 0) {
+            release();
+            return false;
+        }
+        stats.recordAdmitted(0);
+        return true;
+    }
+
+    void release() {
+        if (concurrency != null) {
+            concurrency.release();
+        }
+    }
+
+    /**
+     * Parks until the reserved slot, as parking may return early.
+     */
+    private static void awaitSlot(long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Reserves the next slot of the token bucket.
+     *
+     * @return Nanoseconds to wait until the reserved slot, or <code>-1</code> if no slot was reserved because waiting
+     *         was not allowed or would take too long.
+     */
+    private long reserve(long now, boolean allowWait) {
+        if (intervalNanos == 0) {
+            return 0;
+        }
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long wait = Math.max(0, arrival - toleranceNanos - now);
+            if (wait > 0 && (!allowWait || queueDepth == 0 || wait > maxWaitNanos)) {
+                return -1;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, Math.max(arrival, now) + intervalNanos)) {
+                return wait;
+            }
+        }
+    }
+
+    private boolean enqueue() {
+        if (queued.incrementAndGet() > queueDepth) {
+            queued.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private RateLimitExceededException reject(long start, String reason) {
+        stats.recordRejected(System.nanoTime() - start);
+        return new RateLimitExceededException("Call rejected by rate limit of " + name + ": " + reason);
+    }
+}
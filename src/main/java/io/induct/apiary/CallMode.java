@@ -0,0 +1,92 @@
+package io.induct.apiary;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
+
+/**
+ * How a generated API method executes its call, as determined by the return type of the method. Each mode maps to the
+ * {@link ApiClient} method generated clients delegate to.
+ *
+ * @since 18.10.2026
+ */
+enum CallMode {
+    /**
+     * Blocks until the response has been deserialized.
+     */
+    BLOCKING("handleApiCall", Object.class),
+    /**
+     * Returns a future completed with the deserialized response.
+     */
+    ASYNC("handleAsyncApiCall", CompletableFuture.class, CompletableFuture.class, CompletionStage.class),
+    /**
+     * Returns a {@link Stream} deserializing the elements of a JSON array response one at a time.
+     */
+    STREAMING("handleStreamingApiCall", Stream.class, Stream.class),
+    /**
+     * Returns an {@link Iterator} deserializing the elements of a JSON array response one at a time.
+     */
+    ITERATING("handleIteratingApiCall", Iterator.class, Iterator.class),
+    /**
+     * Blocks until the response has been read and returns it as an {@link ApiResponse}, successful or not.
+     */
+    RESPONSE("handleResponseApiCall", ApiResponse.class, ApiResponse.class);
+
+    private final String handlerName;
+    private final Class<?> handlerReturnType;
+    private final Set<Class<?>> returnTypes;
+
+    CallMode(String handlerName, Class<?> handlerReturnType, Class<?>... returnTypes) {
+        this.handlerName = handlerName;
+        this.handlerReturnType = handlerReturnType;
+        this.returnTypes = ImmutableSet.copyOf(returnTypes);
+    }
+
+    /**
+     * @return Name of the {@link ApiClient} method executing calls in this mode.
+     */
+    String getHandlerName() {
+        return handlerName;
+    }
+
+    /**
+     * @return Erased return type of the {@link ApiClient} method executing calls in this mode.
+     */
+    Class<?> getHandlerReturnType() {
+        return handlerReturnType;
+    }
+
+    /**
+     * @return <code>true</code> if the API method returns a wrapper whose type argument is the response type.
+     */
+    boolean isWrapping() {
+        return this != BLOCKING;
+    }
+
+    static CallMode of(Class<?> returnType) {
+        for (CallMode mode : values()) {
+            if (mode.returnTypes.contains(returnType)) {
+                return mode;
+            }
+        }
+        return BLOCKING;
+    }
+
+    /**
+     * Same as {@link #of(Class)} for contexts where return types are only known by name, such as annotation processing.
+     */
+    static CallMode of(String returnTypeName) {
+        for (CallMode mode : values()) {
+            for (Class<?> returnType : mode.returnTypes) {
+                if (returnType.getName().equals(returnTypeName)) {
+                    return mode;
+                }
+            }
+        }
+        return BLOCKING;
+    }
+}
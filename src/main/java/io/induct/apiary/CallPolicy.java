@@ -0,0 +1,61 @@
+package io.induct.apiary;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Deadline, retry and hedging policy for calls of a whole {@link Client#policy() client} or a single
+ * {@link Api#policy() API}. A policy declared on an API replaces the one of its client. Everything is disabled by
+ * default.
+ *
+ * Retries and hedged requests are only made for idempotent calls, ie. other than <code>POST</code> and
+ * <code>PATCH</code> ones and ones streaming their {@link Body} from an <code>InputStream</code>. Policies apply to
+ * blocking, asynchronous and {@link ApiResponse} returning API methods, which are executed on Ning's
+ * <code>AsyncHttpClient</code> if it is bound. Waiting for deadlines, backoff and hedges never parks a thread.
+ *
+ * @since 18.10.2026
+ */
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CallPolicy {
+    /**
+     * Deadline in milliseconds for each attempt, covering connecting, sending the request and reading the response.
+     * Attempts exceeding it are aborted and fail with {@link CallTimeoutException}. Zero means no deadline.
+     */
+    long timeoutMillis() default 0;
+
+    /**
+     * Maximum number of retries after the first attempt of a call failing with a
+     * {@link ApiResponse#isRetryable() retryable} status, an I/O error or a timeout.
+     */
+    int maxRetries() default 0;
+
+    /**
+     * Upper bound of the delay before the first retry. The bound doubles for each subsequent retry, and the actual
+     * delay is picked randomly below it to spread retries of concurrent calls apart.
+     */
+    long backoffMillis() default 50;
+
+    /**
+     * Upper bound of the delay before any retry.
+     */
+    long maxBackoffMillis() default 2000;
+
+    /**
+     * Whether an attempt still in flight after {@link #hedgePercentile()} of recent latencies should be hedged with a
+     * second, identical request. The first successful response of the two is used and the other one is aborted.
+     */
+    boolean hedge() default false;
+
+    /**
+     * Percentile of recent attempt latencies after which attempts are hedged.
+     */
+    double hedgePercentile() default 0.95;
+
+    /**
+     * Delay in milliseconds before hedging while too few latencies have been observed, and the minimum delay
+     * afterwards.
+     */
+    long hedgeDelayMillis() default 50;
+}
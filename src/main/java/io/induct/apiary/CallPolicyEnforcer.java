@@ -0,0 +1,249 @@
+package io.induct.apiary;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Enforces a single {@link CallPolicy} on asynchronous attempts of a call. Deadlines, backoff delays and hedges are
+ * all driven by one shared timer thread, so no thread waits for them.
+ *
+ * Policies are shared by all clients of the same API defining interface, regardless of environment or client instance,
+ * which lets hedging learn the latencies of an API across all of them.
+ *
+ * @since 18.10.2026
+ */
+final class CallPolicyEnforcer {
+
+    private static final ScheduledExecutorService TIMERS = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("apiary-policy-%d")
+            .setDaemon(true)
+            .build());
+
+    private static final ClassValue<ConcurrentMap<Method, Optional<CallPolicyEnforcer>>> POLICIES = new ClassValue<ConcurrentMap<Method, Optional<CallPolicyEnforcer>>>() {
+        @Override
+        protected ConcurrentMap<Method, Optional<CallPolicyEnforcer>> computeValue(Class<?> apiDefiningInterface) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Number of most recent attempt latencies hedge delays are computed from.
+     */
+    private static final int LATENCY_WINDOW = 128;
+
+    /**
+     * Number of latencies observed between recomputing the hedge delay, and before computing it the first time.
+     */
+    private static final int LATENCY_INTERVAL = 16;
+
+    private final String name;
+    private final CallPolicy config;
+    private final CallPolicyStats stats = new CallPolicyStats();
+    private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_WINDOW);
+    private final AtomicLong observedLatencies = new AtomicLong();
+    private volatile long hedgeDelayNanos;
+
+    private CallPolicyEnforcer(String name, CallPolicy config) {
+        this.name = name;
+        this.config = config;
+        this.hedgeDelayNanos = TimeUnit.MILLISECONDS.toNanos(config.hedgeDelayMillis());
+    }
+
+    /**
+     * @return Enforcer of the policy in effect for given API method, if it or its client declares one.
+     */
+    static Optional<CallPolicyEnforcer> of(Method apiMethod) {
+        return POLICIES.get(apiMethod.getDeclaringClass()).computeIfAbsent(apiMethod, m -> {
+            CallPolicy apiPolicy = m.getAnnotation(Api.class).policy();
+            CallPolicy policy = isDeclared(apiPolicy) ? apiPolicy : m.getDeclaringClass().getDeclaredAnnotation(Client.class).policy();
+            if (!isDeclared(policy)) {
+                return Optional.empty();
+            }
+            return Optional.of(new CallPolicyEnforcer(m.getDeclaringClass().getSimpleName() + "." + m.getName(), policy));
+        });
+    }
+
+    private static boolean isDeclared(CallPolicy policy) {
+        return policy.timeoutMillis() > 0 || policy.maxRetries() > 0 || policy.hedge();
+    }
+
+    CallPolicyStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Executes a call, retrying and hedging its attempts as configured. Cancelling the returned future aborts the
+     * attempts in flight.
+     *
+     * @param call Starts a new attempt of the call.
+     * @param idempotent Whether the call may be repeated.
+     */
+    <T> CompletableFuture<ApiResponse<T>> execute(Supplier<CompletableFuture<ApiResponse<T>>> call, boolean idempotent) {
+        CompletableFuture<ApiResponse<T>> result = new CompletableFuture<>();
+        attempt(call, idempotent, result, 0);
+        return result;
+    }
+
+    private <T> void attempt(Supplier<CompletableFuture<ApiResponse<T>>> call, boolean idempotent, CompletableFuture<ApiResponse<T>> result, int retry) {
+        CompletableFuture<ApiResponse<T>> attempt = idempotent && config.hedge() ? hedged(call) : timed(call);
+        result.whenComplete((response, failure) -> attempt.cancel(true));
+        attempt.whenComplete((response, failure) -> {
+            if (result.isDone()) {
+                return;
+            }
+            boolean retryable = failure != null ? isRetryable(failure) : response.isRetryable();
+            if (idempotent && retryable && retry < config.maxRetries()) {
+                stats.recordRetry();
+                TIMERS.schedule(() -> attempt(call, idempotent, result, retry + 1), backoffMillis(retry), TimeUnit.MILLISECONDS);
+            } else if (failure != null) {
+                result.completeExceptionally(unwrap(failure));
+            } else {
+                result.complete(response);
+            }
+        });
+    }
+
+    /**
+     * Starts an attempt which is aborted with {@link CallTimeoutException} if it exceeds the deadline.
+     */
+    private <T> CompletableFuture<ApiResponse<T>> timed(Supplier<CompletableFuture<ApiResponse<T>>> call) {
+        stats.recordAttempt();
+        long start = System.nanoTime();
+        CompletableFuture<ApiResponse<T>> attempt;
+        try {
+            attempt = call.get();
+        } catch (RuntimeException e) {
+            attempt = new CompletableFuture<>();
+            attempt.completeExceptionally(e);
+        }
+        if (config.timeoutMillis() > 0) {
+            CompletableFuture<ApiResponse<T>> deadlined = attempt;
+            ScheduledFuture<?> deadline = TIMERS.schedule(() -> {
+                if (deadlined.completeExceptionally(new CallTimeoutException("Call of " + name + " timed out after " + config.timeoutMillis() + " ms"))) {
+                    stats.recordTimeout();
+                }
+            }, config.timeoutMillis(), TimeUnit.MILLISECONDS);
+            attempt.whenComplete((response, failure) -> deadline.cancel(false));
+        }
+        attempt.whenComplete((response, failure) -> {
+            if (failure == null) {
+                recordLatency(System.nanoTime() - start);
+            }
+        });
+        return attempt;
+    }
+
+    /**
+     * Starts an attempt, and a second one if the first is still in flight after the hedge delay. Completes with the
+     * first response which is not retryable, or with the outcome of the last attempt to complete if there is none.
+     */
+    private <T> CompletableFuture<ApiResponse<T>> hedged(Supplier<CompletableFuture<ApiResponse<T>>> call) {
+        CompletableFuture<ApiResponse<T>> race = new CompletableFuture<>();
+        AtomicBoolean settled = new AtomicBoolean();
+        AtomicInteger inFlight = new AtomicInteger(1);
+        AtomicReference<CompletableFuture<ApiResponse<T>>> hedge = new AtomicReference<>();
+        CompletableFuture<ApiResponse<T>> primary = timed(call);
+        primary.whenComplete((response, failure) -> settle(race, settled, inFlight, response, failure, false));
+        ScheduledFuture<?> timer = TIMERS.schedule(() -> {
+            if (race.isDone() || inFlight.getAndUpdate(attempts -> attempts == 0 ? 0 : attempts + 1) == 0) {
+                return;
+            }
+            stats.recordHedge();
+            CompletableFuture<ApiResponse<T>> second = timed(call);
+            hedge.set(second);
+            if (race.isDone()) {
+                second.cancel(true);
+            }
+            second.whenComplete((response, failure) -> settle(race, settled, inFlight, response, failure, true));
+        }, hedgeDelayNanos, TimeUnit.NANOSECONDS);
+        race.whenComplete((response, failure) -> {
+            timer.cancel(false);
+            primary.cancel(true);
+            CompletableFuture<ApiResponse<T>> second = hedge.get();
+            if (second != null) {
+                second.cancel(true);
+            }
+        });
+        return race;
+    }
+
+    private <T> void settle(CompletableFuture<ApiResponse<T>> race, AtomicBoolean settled, AtomicInteger inFlight,
+                            ApiResponse<T> response, Throwable failure, boolean hedge) {
+        if (failure == null && !response.isRetryable()) {
+            // counted before completing, as completing runs the caller's continuations
+            if (!race.isDone() && settled.compareAndSet(false, true)) {
+                if (hedge) {
+                    stats.recordHedgeWin();
+                }
+                race.complete(response);
+            }
+        } else if (inFlight.decrementAndGet() == 0) {
+            if (failure != null) {
+                race.completeExceptionally(failure);
+            } else {
+                race.complete(response);
+            }
+        }
+    }
+
+    /**
+     * @return Random delay below the exponentially growing backoff bound, ie. "full jitter".
+     */
+    private long backoffMillis(int retry) {
+        long bound = Math.min(config.maxBackoffMillis(), config.backoffMillis() << Math.min(retry, 20));
+        return ThreadLocalRandom.current().nextLong(Math.max(0, bound) + 1);
+    }
+
+    private void recordLatency(long nanos) {
+        long observed = observedLatencies.getAndIncrement();
+        latencies.set((int) (observed % LATENCY_WINDOW), nanos);
+        if ((observed + 1) % LATENCY_INTERVAL == 0) {
+            int count = (int) Math.min(observed + 1, LATENCY_WINDOW);
+            long[] window = new long[count];
+            for (int i = 0; i < count; i++) {
+                window[i] = latencies.get(i);
+            }
+            Arrays.sort(window);
+            long percentile = window[(int) Math.min(count - 1, Math.ceil(config.hedgePercentile() * count) - 1)];
+            hedgeDelayNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(config.hedgeDelayMillis()), percentile);
+        }
+    }
+
+    private static boolean isRetryable(Throwable failure) {
+        Throwable cause = unwrap(failure);
+        return cause instanceof CallTimeoutException
+                || cause instanceof TimeoutException
+                || cause instanceof IOException
+                || cause instanceof UncheckedIOException
+                || (cause instanceof ApiCallException && ((ApiCallException) cause).isRetryable());
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        while ((failure instanceof CompletionException || failure instanceof ExecutionException) && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        return failure;
+    }
+}
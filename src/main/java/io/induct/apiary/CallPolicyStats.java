@@ -0,0 +1,68 @@
+package io.induct.apiary;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of a single {@link CallPolicy}.
+ *
+ * @since 18.10.2026
+ */
+public final class CallPolicyStats {
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    void recordAttempt() {
+        attempts.increment();
+    }
+
+    void recordRetry() {
+        retries.increment();
+    }
+
+    void recordHedge() {
+        hedges.increment();
+    }
+
+    void recordHedgeWin() {
+        hedgeWins.increment();
+    }
+
+    void recordTimeout() {
+        timeouts.increment();
+    }
+
+    /**
+     * @return Number of requests sent, including retries and hedges.
+     */
+    public long getAttemptCount() {
+        return attempts.sum();
+    }
+
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * @return Number of hedged requests which completed before the attempt they hedged.
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "CallPolicyStats{attempts=" + getAttemptCount() + ", retries=" + getRetryCount() + ", hedges=" + getHedgeCount()
+                + ", hedgeWins=" + getHedgeWinCount() + ", timeouts=" + getTimeoutCount() + "}";
+    }
+}
@@ -0,0 +1,151 @@
+package io.induct.apiary;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Structured fan out of blocking calls, eg. of generated clients. Each {@link #fork(Callable) forked} call runs on its
+ * own virtual thread when the JDK supports them, so plain blocking clients scale like asynchronous ones. The first
+ * failing call cancels the others, {@link #join()} waits for all of them and closing the scope cancels and waits for
+ * any still running, so no call outlives its scope:
+ *
+ * <pre>
+ * try (CallScope scope = apiary.openScope()) {
+ *     CompletableFuture&lt;ApodImage&gt; today = scope.fork(() -&gt; nasa.apod(...));
+ *     CompletableFuture&lt;ApodImage&gt; yesterday = scope.fork(() -&gt; nasa.apodOn(...));
+ *     scope.join();
+ *     ...
+ * }
+ * </pre>
+ *
+ * Scopes are meant to be used by the thread which opened them.
+ *
+ * @since 18.10.2026
+ */
+public final class CallScope implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final List<Fork<?>> forks = new CopyOnWriteArrayList<>();
+    // the owner is a party, each running fork another
+    private final Phaser running = new Phaser(1);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean closed;
+
+    CallScope(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Starts given call in this scope.
+     *
+     * @return Future completed with the result of the call. Cancelling it interrupts the call.
+     * @throws IllegalStateException if this scope is closed.
+     */
+    public <T> CompletableFuture<T> fork(Callable<T> call) {
+        Preconditions.checkState(!closed, "Scope is closed");
+        Fork<T> fork = new Fork<>(call);
+        forks.add(fork);
+        fork.result.whenComplete((result, failure) -> {
+            if (fork.result.isCancelled()) {
+                fork.cancel(true);
+            }
+        });
+        running.register();
+        try {
+            // runs even if the fork is cancelled before it starts, so that the party always arrives
+            executor.execute(() -> {
+                try {
+                    fork.run();
+                } finally {
+                    running.arriveAndDeregister();
+                }
+            });
+        } catch (RuntimeException e) {
+            running.arriveAndDeregister();
+            fork.cancel(false);
+            throw e;
+        }
+        if (failure.get() != null) {
+            fork.cancel(true);
+        }
+        return fork.result;
+    }
+
+    /**
+     * Waits for all calls forked so far to complete.
+     *
+     * @throws RuntimeException The first failure of a forked call, wrapped if it is a checked exception.
+     */
+    public CallScope join() throws InterruptedException {
+        running.awaitAdvanceInterruptibly(running.arrive());
+        Throwable cause = failure.get();
+        if (cause != null) {
+            Throwables.propagateIfPossible(cause);
+            throw new ApiaryException("Forked call failed", cause);
+        }
+        return this;
+    }
+
+    /**
+     * Cancels the calls still running, interrupting their threads.
+     */
+    public void cancel() {
+        for (Fork<?> fork : forks) {
+            fork.cancel(true);
+        }
+    }
+
+    /**
+     * Cancels the calls still running and waits for their threads to finish.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        cancel();
+        running.arriveAndAwaitAdvance();
+    }
+
+    private void failed(Throwable cause) {
+        if (failure.compareAndSet(null, cause)) {
+            cancel();
+        }
+    }
+
+    /**
+     * Single forked call, which completes its result future once it has run or been cancelled.
+     */
+    private final class Fork<T> extends FutureTask<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        Fork(Callable<T> call) {
+            super(call);
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                result.cancel(false);
+                return;
+            }
+            try {
+                result.complete(get());
+            } catch (ExecutionException e) {
+                failed(e.getCause());
+                result.completeExceptionally(e.getCause());
+            } catch (InterruptedException e) {
+                // done() runs only once the task has completed, so get() does not wait
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
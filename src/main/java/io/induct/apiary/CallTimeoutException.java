@@ -0,0 +1,12 @@
+package io.induct.apiary;
+
+/**
+ * Thrown when an attempt of a call exceeds its {@link CallPolicy#timeoutMillis() deadline}.
+ *
+ * @since 18.10.2026
+ */
+public class CallTimeoutException extends ApiaryException {
+    public CallTimeoutException(String message) {
+        super(message);
+    }
+}
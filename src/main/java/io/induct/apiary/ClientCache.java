@@ -0,0 +1,187 @@
+package io.induct.apiary;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+import static io.induct.apiary.ClientDefinitions.findApiMethods;
+
+/**
+ * Persistent cache of generated client bytecode. Entries are addressed by a fingerprint of everything the generated
+ * client depends on, so a cached entry can never be stale: any change to the inputs simply results in a new key.
+ *
+ * Entries are written to a temporary file first and then atomically moved in place, which makes the cache safe to
+ * share between concurrently running JVMs. Unreadable, corrupt or mismatching entries are treated as cache misses.
+ *
+ * @since 18.10.2026
+ */
+final class ClientCache {
+
+    private static final int MAGIC = 0xA91A4C00;
+    private static final int FORMAT_VERSION = 1;
+
+    private final Logger log = LoggerFactory.getLogger(ClientCache.class);
+
+    private final Path directory;
+
+    ClientCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Computes the cache key for a client. The key covers {@link Client} and {@link Api} metadata, signatures and
+     * parameter names of all API methods, the generator backend and the Apiary version. Clients are independent of
+     * environments, so all environments share the same key.
+     */
+    String fingerprint(Class<?> apiDefiningInterface, String targetFqn, ClientGenerator generator) {
+        Client clientConfig = apiDefiningInterface.getDeclaredAnnotation(Client.class);
+        Hasher hasher = Hashing.sha256().newHasher()
+                .putInt(FORMAT_VERSION)
+                .putString(apiaryVersion(), Charsets.UTF_8)
+                .putString(System.getProperty("java.specification.version"), Charsets.UTF_8)
+                .putString(generator.getClass().getName(), Charsets.UTF_8)
+                .putBytes(classFileDigest(generator.getClass()))
+                .putBytes(classFileDigest(ClientSourceTemplate.class))
+                .putBytes(classFileDigest(ApiClient.class))
+                .putBytes(classFileDigest(ApiMethod.class))
+                .putBytes(classFileDigest(ParamEncoding.class))
+                .putString(apiDefiningInterface.getName(), Charsets.UTF_8)
+                .putString(targetFqn, Charsets.UTF_8)
+                .putString(clientConfig.paramFormat().name(), Charsets.UTF_8);
+        findApiMethods(apiDefiningInterface)
+                .sorted(Comparator.comparing(Method::toGenericString))
+                .forEach(method -> {
+                    hasher.putString(method.toGenericString(), Charsets.UTF_8);
+                    hasher.putString(method.getAnnotation(Api.class).toString(), Charsets.UTF_8);
+                    for (Parameter param : method.getParameters()) {
+                        hasher.putString(param.getName(), Charsets.UTF_8);
+                        hasher.putBoolean(param.isAnnotationPresent(Body.class));
+                    }
+                });
+        return hasher.hash().toString();
+    }
+
+    Optional<GeneratedClient> load(String key, String targetFqn) {
+        Path entry = directory.resolve(key);
+        byte[] content;
+        try {
+            content = Files.readAllBytes(entry);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Failed to read cached client " + entry + ", regenerating", e);
+            return Optional.empty();
+        }
+
+        try {
+            if (content.length < Long.BYTES) {
+                throw new IOException("Truncated entry");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(content, 0, content.length - Long.BYTES);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unknown entry format");
+            }
+            if (!key.equals(in.readUTF()) || !targetFqn.equals(in.readUTF())) {
+                throw new IOException("Entry does not match its key");
+            }
+            int classCount = in.readInt();
+            Map<String, byte[]> classes = new LinkedHashMap<>();
+            for (int i = 0; i < classCount; i++) {
+                String className = in.readUTF();
+                byte[] bytecode = new byte[in.readInt()];
+                in.readFully(bytecode);
+                classes.put(className, bytecode);
+            }
+            if (in.readLong() != crc.getValue()) {
+                throw new IOException("Checksum mismatch");
+            }
+            log.debug("Loaded client " + targetFqn + " from cache entry " + entry);
+            return Optional.of(new GeneratedClient(targetFqn, classes, Optional.empty()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring corrupt cached client " + entry + ", regenerating", e);
+            return Optional.empty();
+        }
+    }
+
+    void store(String key, GeneratedClient generated) {
+        Path entry = directory.resolve(key);
+        Path temp = null;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(key);
+            out.writeUTF(generated.getClassName());
+            out.writeInt(generated.getClasses().size());
+            for (Map.Entry<String, byte[]> cls : generated.getClasses().entrySet()) {
+                out.writeUTF(cls.getKey());
+                out.writeInt(cls.getValue().length);
+                out.write(cls.getValue());
+            }
+            out.flush();
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeLong(crc.getValue());
+            out.flush();
+
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.warn("Cache directory " + directory + " does not support atomic moves, not caching client " + generated.getClassName());
+        } catch (IOException e) {
+            log.warn("Failed to cache client " + generated.getClassName() + " to " + entry, e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    log.debug("Failed to remove temporary cache file " + temp, e);
+                }
+            }
+        }
+    }
+
+    private static String apiaryVersion() {
+        String version = Apiary.class.getPackage().getImplementationVersion();
+        return version != null ? version : "unversioned";
+    }
+
+    private static byte[] classFileDigest(Class<?> cls) {
+        String resource = "/" + cls.getName().replace('.', '/') + ".class";
+        try (InputStream classFile = cls.getResourceAsStream(resource)) {
+            if (classFile == null) {
+                throw new ClientGenerationException("Failed to fingerprint generator " + cls.getName() + ", class file " + resource + " not found");
+            }
+            return Hashing.sha256().hashBytes(ByteStreams.toByteArray(classFile)).asBytes();
+        } catch (IOException e) {
+            throw new ClientGenerationException("Failed to fingerprint generator " + cls.getName(), e);
+        }
+    }
+}
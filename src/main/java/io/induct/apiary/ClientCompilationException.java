@@ -11,6 +11,11 @@ import java.util.List;
 class ClientCompilationException extends ApiaryException {
     private final List<Diagnostic<? extends JavaFileObject>> diagnostics;
 
+    public ClientCompilationException(String message) {
+        super(message);
+        this.diagnostics = Collections.emptyList();
+    }
+
     public ClientCompilationException(String message, Throwable throwable) {
         super(message, throwable);
         this.diagnostics = Collections.emptyList();
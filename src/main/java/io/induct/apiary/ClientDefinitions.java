@@ -0,0 +1,138 @@
+package io.induct.apiary;
+
+import com.google.common.base.CaseFormat;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.induct.apiary.Client.Environment;
+
+/**
+ * Helpers for reading {@link Client} and {@link Api} metadata shared by all {@link ClientGenerator} backends.
+ *
+ * @since 18.10.2026
+ */
+final class ClientDefinitions {
+
+    private ClientDefinitions() {}
+
+    static Stream<Method> findApiMethods(Class<?> apiDefiningInterface) {
+        return Stream.of(apiDefiningInterface.getDeclaredMethods())
+                .filter(m -> m.isAnnotationPresent(Api.class));
+    }
+
+    /**
+     * @return Type the response of given API method should be deserialized to. This is the return type itself for
+     *         blocking methods, the type argument of the returned future for asynchronous ones and the element type for
+     *         streaming ones.
+     */
+    static Type responseType(Method apiMethod) {
+        Type returnType = apiMethod.getGenericReturnType();
+        if (CallMode.of(apiMethod.getReturnType()).isWrapping()) {
+            if (!(returnType instanceof ParameterizedType)) {
+                throw new ClientGenerationException("API method " + apiMethod + " must declare the type argument of its return type");
+            }
+            return ((ParameterizedType) returnType).getActualTypeArguments()[0];
+        }
+        return returnType;
+    }
+
+    /**
+     * @return Java source representation of given type, including its type arguments.
+     */
+    static String sourceName(Type type) {
+        if (type instanceof Class) {
+            return ((Class<?>) type).getCanonicalName();
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            return sourceName(parameterized.getRawType()) + Stream.of(parameterized.getActualTypeArguments())
+                    .map(ClientDefinitions::sourceName)
+                    .collect(Collectors.joining(", ", "<", ">"));
+        }
+        return type.getTypeName();
+    }
+
+    /**
+     * @return All roots of given environment, {@link Environment#root()} first.
+     */
+    static List<String> roots(Environment env) {
+        List<String> roots = new ArrayList<>();
+        if (!env.root().isEmpty()) {
+            roots.add(env.root());
+        }
+        Stream.of(env.roots()).filter(root -> !roots.contains(root)).forEach(roots::add);
+        if (roots.isEmpty()) {
+            throw new ClientGenerationException("Environment " + env.name() + " must declare a root");
+        }
+        return roots;
+    }
+
+    /**
+     * @return Names of the path variables of given API in order of appearance. Each of them is bound to the method
+     *         parameter of the same name, which is then not sent as a query parameter.
+     * @throws ClientGenerationException if the path is malformed or a variable has no matching parameter.
+     */
+    static List<String> pathVariables(Method apiMethod) {
+        List<String> variables;
+        try {
+            variables = UrlTemplate.compile(apiMethod.getAnnotation(Api.class).path()).getVariables();
+        } catch (IllegalArgumentException e) {
+            throw new ClientGenerationException("API method " + apiMethod + " has malformed path", e);
+        }
+        for (String variable : variables) {
+            Optional<Parameter> param = Stream.of(apiMethod.getParameters()).filter(p -> p.getName().equals(variable)).findFirst();
+            if (!param.isPresent() || param.get().getType() == Optional.class) {
+                throw new ClientGenerationException("Path variable {" + variable + "} of API method " + apiMethod + " must be bound to a non-optional parameter of the same name");
+            }
+        }
+        return variables;
+    }
+
+    /**
+     * @return Parameter of given API method marked as its {@link Body}, if any.
+     * @throws ClientGenerationException if more than one parameter is marked, or the API is called with
+     *                                   <code>GET</code>.
+     */
+    static Optional<Parameter> bodyParam(Method apiMethod) {
+        List<Parameter> bodies = Stream.of(apiMethod.getParameters())
+                .filter(param -> param.isAnnotationPresent(Body.class))
+                .collect(Collectors.toList());
+        if (bodies.size() > 1) {
+            throw new ClientGenerationException("API method " + apiMethod + " may have only one @Body parameter");
+        }
+        if (!bodies.isEmpty() && apiMethod.getAnnotation(Api.class).method() == HttpMethod.GET) {
+            throw new ClientGenerationException("GET API method " + apiMethod + " can't have a @Body parameter");
+        }
+        return bodies.stream().findFirst();
+    }
+
+    static String apiParamName(CaseFormat apiParamFormat, String methodParamName) {
+        return CaseFormat.LOWER_CAMEL.to(apiParamFormat, methodParamName);
+    }
+
+    /**
+     * @return Fully qualified name of the client class generated at runtime, as configured with
+     *         {@link Client#targetPackage()} and {@link Client#targetClassName()}.
+     */
+    static String targetFqn(Client clientConfig, String interfacePackageName, String interfaceSimpleName) {
+        String targetPackageName = clientConfig.targetPackage().replace("${root}", interfacePackageName);
+        String targetClassName = clientConfig.targetClassName().replace("${clientName}", interfaceSimpleName);
+        return targetPackageName + "." + targetClassName;
+    }
+
+    /**
+     * @return Fully qualified name of the client class pregenerated by {@link ClientProcessor}. It differs from the
+     *         runtime generated one, so that a stale pregenerated class can never shadow a freshly generated one.
+     */
+    static String pregeneratedFqn(String targetFqn) {
+        return targetFqn + "_Pregenerated";
+    }
+}
@@ -0,0 +1,134 @@
+package io.induct.apiary;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static io.induct.apiary.Client.Environment;
+
+/**
+ * Immutable snapshot of the runtime configuration of an environment: its roots, {@link LoadBalancing} strategy and
+ * {@link HostEjection} settings. Generated clients are independent of environments; every client instance reads its
+ * current snapshot on each call, so replacing it with {@link Apiary#switchEnvironment(Object, ClientEnvironment)}
+ * takes effect on the next call without regenerating the client or locking.
+ *
+ * Snapshots are created from {@link Environment} annotations with {@link #of(Environment)}, or built from external
+ * configuration, eg. to hot reload changed roots.
+ *
+ * @since 18.10.2026
+ */
+public final class ClientEnvironment {
+    private final String name;
+    private final List<String> roots;
+    private final LoadBalancing loadBalancing;
+    private final int ejectAfterFailures;
+    private final long maxLatencyMillis;
+    private final long ejectionMillis;
+
+    private ClientEnvironment(String name, List<String> roots, LoadBalancing loadBalancing, int ejectAfterFailures, long maxLatencyMillis, long ejectionMillis) {
+        Preconditions.checkArgument(!roots.isEmpty(), "Environment " + name + " must declare a root");
+        this.name = name;
+        this.roots = ImmutableList.copyOf(roots);
+        this.loadBalancing = Preconditions.checkNotNull(loadBalancing);
+        this.ejectAfterFailures = ejectAfterFailures;
+        this.maxLatencyMillis = maxLatencyMillis;
+        this.ejectionMillis = ejectionMillis;
+    }
+
+    /**
+     * @return Snapshot of an environment declared with annotations.
+     */
+    public static ClientEnvironment of(Environment env) {
+        HostEjection ejection = env.ejection();
+        return new ClientEnvironment(env.name(), ClientDefinitions.roots(env), env.loadBalancing(),
+                ejection.consecutiveFailures(), ejection.maxLatencyMillis(), ejection.ejectionMillis());
+    }
+
+    /**
+     * @return Round-robin balanced snapshot with given roots and default {@link HostEjection} settings.
+     */
+    public static ClientEnvironment of(String name, String... roots) {
+        return new ClientEnvironment(name, Arrays.asList(roots), LoadBalancing.ROUND_ROBIN, 5, 0, 30000);
+    }
+
+    /**
+     * @return Copy of this snapshot with given load balancing strategy.
+     */
+    public ClientEnvironment withLoadBalancing(LoadBalancing loadBalancing) {
+        return new ClientEnvironment(name, roots, loadBalancing, ejectAfterFailures, maxLatencyMillis, ejectionMillis);
+    }
+
+    /**
+     * @return Copy of this snapshot with given ejection settings.
+     * @see HostEjection
+     */
+    public ClientEnvironment withEjection(int consecutiveFailures, long maxLatencyMillis, long ejectionMillis) {
+        return new ClientEnvironment(name, roots, loadBalancing, consecutiveFailures, maxLatencyMillis, ejectionMillis);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Roots calls are sent to, the first one when there is only one.
+     */
+    public List<String> getRoots() {
+        return roots;
+    }
+
+    public LoadBalancing getLoadBalancing() {
+        return loadBalancing;
+    }
+
+    /**
+     * @see HostEjection#consecutiveFailures()
+     */
+    public int getEjectAfterFailures() {
+        return ejectAfterFailures;
+    }
+
+    /**
+     * @see HostEjection#maxLatencyMillis()
+     */
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    /**
+     * @see HostEjection#ejectionMillis()
+     */
+    public long getEjectionMillis() {
+        return ejectionMillis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ClientEnvironment)) {
+            return false;
+        }
+        ClientEnvironment that = (ClientEnvironment) o;
+        return ejectAfterFailures == that.ejectAfterFailures
+                && maxLatencyMillis == that.maxLatencyMillis
+                && ejectionMillis == that.ejectionMillis
+                && name.equals(that.name)
+                && roots.equals(that.roots)
+                && loadBalancing == that.loadBalancing;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(name, roots, loadBalancing, ejectAfterFailures, maxLatencyMillis, ejectionMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "ClientEnvironment{name='" + name + "', roots=" + roots + ", loadBalancing=" + loadBalancing + "}";
+    }
+}
@@ -0,0 +1,26 @@
+package io.induct.apiary;
+
+import com.google.inject.ImplementedBy;
+
+/**
+ * Backend which turns an API defining interface into bytecode of a concrete {@link ApiClient} implementation. Apiary
+ * uses {@link SourceClientGenerator} by default, other backends can be selected by binding this interface, eg.
+ * <code>bind(ClientGenerator.class).to(BytecodeClientGenerator.class)</code>.
+ *
+ * @since 18.10.2026
+ * @see SourceClientGenerator
+ * @see BytecodeClientGenerator
+ */
+@ImplementedBy(SourceClientGenerator.class)
+public interface ClientGenerator {
+
+    /**
+     * Generates the client implementation.
+     *
+     * @param apiDefiningInterface Interface annotated with {@link Client} the client should implement.
+     * @param targetFqn Fully qualified name of the generated client class.
+     * @return Bytecode of the client class and all its supporting classes. The client must build its requests with
+     *         {@link ApiClient#newRequest(ApiMethod, String)}, so that it serves every environment.
+     */
+    GeneratedClient generate(Class<?> apiDefiningInterface, String targetFqn);
+}
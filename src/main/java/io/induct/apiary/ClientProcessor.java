@@ -0,0 +1,196 @@
+package io.induct.apiary;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static io.induct.apiary.Client.Environment;
+import static io.induct.apiary.ClientDefinitions.*;
+import static io.induct.apiary.ClientSourceTemplate.MethodModel;
+import static io.induct.apiary.ClientSourceTemplate.ParamModel;
+
+/**
+ * Annotation processor which pregenerates clients for all {@link Client} annotated interfaces at build time, one class
+ * per interface serving all of its {@link Client#environments() environments}. {@link Apiary#generateClient(Class, String)}
+ * detects the pregenerated classes and instantiates them directly instead of generating the client at runtime.
+ *
+ * The processor is registered as a service and thus runs automatically whenever Apiary is in compile classpath. It can
+ * be disabled with compiler option <code>-Aapiary.pregenerate=false</code>.
+ *
+ * @since 18.10.2026
+ */
+@SupportedAnnotationTypes("io.induct.apiary.Client")
+@SupportedOptions(ClientProcessor.PREGENERATE_OPTION)
+public class ClientProcessor extends AbstractProcessor {
+
+    public static final String PREGENERATE_OPTION = "apiary.pregenerate";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if ("false".equals(processingEnv.getOptions().get(PREGENERATE_OPTION))) {
+            return false;
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(Client.class)) {
+            if (element.getKind() != ElementKind.INTERFACE) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Only interfaces can be annotated with " + Client.class.getName(), element);
+                continue;
+            }
+            TypeElement apiDefiningInterface = (TypeElement) element;
+            Client clientConfig = apiDefiningInterface.getAnnotation(Client.class);
+            String packageName = processingEnv.getElementUtils().getPackageOf(apiDefiningInterface).getQualifiedName().toString();
+            String targetFqn = targetFqn(clientConfig, packageName, apiDefiningInterface.getSimpleName().toString());
+
+            boolean rooted = true;
+            for (Environment env : clientConfig.environments()) {
+                if (env.root().isEmpty() && env.roots().length == 0) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Environment " + env.name() + " must declare a root", apiDefiningInterface);
+                    rooted = false;
+                }
+            }
+            if (rooted) {
+                pregenerate(apiDefiningInterface, clientConfig, pregeneratedFqn(targetFqn));
+            }
+        }
+        return false;
+    }
+
+    private void pregenerate(TypeElement apiDefiningInterface, Client clientConfig, String pregeneratedFqn) {
+        int split = pregeneratedFqn.lastIndexOf('.');
+        List<ExecutableElement> apiMethodElements = ElementFilter.methodsIn(apiDefiningInterface.getEnclosedElements()).stream()
+                .filter(method -> method.getAnnotation(Api.class) != null)
+                .collect(Collectors.toList());
+        if (!apiMethodElements.stream().allMatch(method -> hasValidPath(method) && hasValidBody(method))) {
+            return;
+        }
+        List<MethodModel> apiMethods = apiMethodElements.stream()
+                .map(method -> toMethodModel(method, clientConfig))
+                .collect(Collectors.toList());
+        String classSource = new ClientSourceTemplate(
+                pregeneratedFqn.substring(0, split),
+                pregeneratedFqn.substring(split + 1),
+                apiDefiningInterface.getQualifiedName().toString(),
+                apiDefiningInterface.getSimpleName().toString(),
+                apiMethods).render();
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(pregeneratedFqn, apiDefiningInterface).openWriter()) {
+            writer.write(classSource);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to pregenerate client " + pregeneratedFqn + ": " + e.getMessage(), apiDefiningInterface);
+        }
+    }
+
+    /**
+     * Reports an error unless all path variables of given API method are bound to non-optional parameters, mirroring
+     * {@link ClientDefinitions#pathVariables(java.lang.reflect.Method)}.
+     */
+    private boolean hasValidPath(ExecutableElement method) {
+        List<String> variables;
+        try {
+            variables = UrlTemplate.compile(method.getAnnotation(Api.class).path()).getVariables();
+        } catch (IllegalArgumentException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), method);
+            return false;
+        }
+        for (String variable : variables) {
+            boolean bound = method.getParameters().stream()
+                    .anyMatch(param -> param.getSimpleName().contentEquals(variable)
+                            && !erasure(param.asType()).toString().equals(Optional.class.getName()));
+            if (!bound) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Path variable {" + variable + "} must be bound to a non-optional parameter of the same name", method);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reports an error unless given API method has at most one {@link Body} parameter, and none if called with
+     * <code>GET</code>, mirroring {@link ClientDefinitions#bodyParam(java.lang.reflect.Method)}.
+     */
+    private boolean hasValidBody(ExecutableElement method) {
+        long bodies = method.getParameters().stream().filter(param -> param.getAnnotation(Body.class) != null).count();
+        if (bodies > 1) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "API methods may have only one @Body parameter", method);
+            return false;
+        }
+        if (bodies > 0 && method.getAnnotation(Api.class).method() == HttpMethod.GET) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "GET API methods can't have a @Body parameter", method);
+            return false;
+        }
+        return true;
+    }
+
+    private MethodModel toMethodModel(ExecutableElement method, Client clientConfig) {
+        TypeMirror returnType = method.getReturnType();
+        CallMode callMode = CallMode.of(erasure(returnType).toString());
+        TypeMirror responseType = returnType;
+        if (callMode.isWrapping()) {
+            List<? extends TypeMirror> typeArguments = ((DeclaredType) returnType).getTypeArguments();
+            if (typeArguments.isEmpty()) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "API methods must declare the type argument of their return type", method);
+            } else {
+                responseType = typeArguments.get(0);
+            }
+        }
+        return new MethodModel(
+                method.getSimpleName().toString(),
+                returnType.toString(),
+                callMode,
+                responseType.toString(),
+                method.getAnnotation(Api.class).path(),
+                method.getParameters().stream()
+                        .map(param -> {
+                            String paramType = erasure(param.asType()).toString();
+                            String paramName = param.getSimpleName().toString();
+                            return new ParamModel(
+                                    paramType,
+                                    paramName,
+                                    apiParamName(clientConfig.paramFormat(), paramName),
+                                    ParamEncoding.of(paramType, isConvertible(param.asType())),
+                                    param.getAnnotation(Body.class) != null);
+                        })
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * @see ParamEncoding#of(Class)
+     */
+    private boolean isConvertible(TypeMirror type) {
+        if (!(type instanceof DeclaredType)) {
+            return false;
+        }
+        Element element = ((DeclaredType) type).asElement();
+        if (element.getKind() == ElementKind.ENUM) {
+            return true;
+        }
+        TypeElement temporal = processingEnv.getElementUtils().getTypeElement(TemporalAccessor.class.getName());
+        return element.getKind() == ElementKind.CLASS
+                && processingEnv.getTypeUtils().isAssignable(erasure(type), temporal.asType());
+    }
+
+    private TypeMirror erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type);
+    }
+}
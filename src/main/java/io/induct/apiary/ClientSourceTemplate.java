@@ -0,0 +1,274 @@
+package io.induct.apiary;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Primitives;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Renders Java source of a generated client. The template only deals with names, so that the same source can be
+ * produced both from runtime reflection ({@link SourceClientGenerator}) and from compile time language model
+ * ({@link ClientProcessor}).
+ *
+ * @since 18.10.2026
+ */
+final class ClientSourceTemplate {
+
+    /**
+     * Wrapper type names keyed by the names of primitive types, including <code>void</code>.
+     */
+    private static final Map<String, String> BOXED = ImmutableMap.copyOf(Primitives.allPrimitiveTypes().stream()
+            .collect(Collectors.toMap(Class::getName, type -> Primitives.wrap(type).getName())));
+
+    private final String targetPackageName;
+    private final String targetClassName;
+    private final String interfaceName;
+    private final String interfaceSimpleName;
+    private final List<MethodModel> apiMethods;
+
+    ClientSourceTemplate(String targetPackageName, String targetClassName, String interfaceName, String interfaceSimpleName, List<MethodModel> apiMethods) {
+        this.targetPackageName = targetPackageName;
+        this.targetClassName = targetClassName;
+        this.interfaceName = interfaceName;
+        this.interfaceSimpleName = interfaceSimpleName;
+        this.apiMethods = ImmutableList.copyOf(apiMethods);
+    }
+
+    String render() {
+        String packageDefinition = "package " + targetPackageName + ";\n\n";
+
+        // response types are referred to by their fully qualified names, as their simple names may clash
+        Stream<String> allImports = Stream.of(interfaceName, ApiClient.class.getName(), ApiMethod.class.getName(), ApiRequest.class.getName(), TypeReference.class.getName(), UrlTemplate.class.getName());
+
+        String imports = String.join("", allImports
+                .map((cls) -> "import " + cls + ";\n")
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList()));
+
+        String classDefinition = "\npublic class "
+                + targetClassName + " extends "
+                + ApiClient.class.getSimpleName()
+                + " implements "
+                + interfaceSimpleName
+                + " {\n";
+
+        String staticFields = String.join("", IntStream.range(0, apiMethods.size())
+                .mapToObj(i -> renderTypeField(apiMethods.get(i), i))
+                .collect(Collectors.toList()));
+        staticFields += String.join("", IntStream.range(0, apiMethods.size())
+                .mapToObj(i -> renderMethodField(apiMethods.get(i), i))
+                .collect(Collectors.toList()));
+        staticFields += String.join("", IntStream.range(0, apiMethods.size())
+                .filter(i -> !apiMethods.get(i).pathVariables.isEmpty())
+                .mapToObj(i -> "    private static final UrlTemplate " + pathField(apiMethods.get(i), i) + " = UrlTemplate.compile(" + literal(apiMethods.get(i).path) + ");\n")
+                .collect(Collectors.toList()));
+
+        String methods = String.join("", IntStream.range(0, apiMethods.size())
+                .mapToObj(i -> renderMethod(apiMethods.get(i), i))
+                .collect(Collectors.toList()));
+
+        return packageDefinition
+                + imports
+                + classDefinition
+                + staticFields
+                + methods
+                + "}\n";
+    }
+
+    /**
+     * Renders the response type of given method, resolved reflectively from the interface so that generic type
+     * arguments of the response type are retained.
+     */
+    private String renderTypeField(MethodModel method, int index) {
+        return "    private static final TypeReference<" + BOXED.getOrDefault(method.responseType, method.responseType) + "> " + typeField(method, index)
+                + " = responseTypeOf(" + methodReference(method) + ");\n";
+    }
+
+    private String renderMethodField(MethodModel method, int index) {
+        return "    private static final ApiMethod " + methodField(method, index) + " = ApiMethod.of(" + methodReference(method) + ");\n";
+    }
+
+    /**
+     * @return Arguments identifying given method, as expected by {@link ApiMethod#of(Class, String, Class[])}.
+     */
+    private String methodReference(MethodModel method) {
+        StringBuilder reference = new StringBuilder()
+            .append(interfaceSimpleName).append(".class, \"").append(method.name).append("\"");
+        for (ParamModel param : method.params) {
+            reference.append(", ").append(param.type).append(".class");
+        }
+        return reference.toString();
+    }
+
+    private static String typeField(MethodModel method, int index) {
+        return method.name + "Type" + index;
+    }
+
+    private static String methodField(MethodModel method, int index) {
+        return method.name + "Method" + index;
+    }
+
+    private static String pathField(MethodModel method, int index) {
+        return method.name + "Path" + index;
+    }
+
+    /**
+     * @return Java string literal of given value. Characters outside printable ASCII are escaped too, as the source may
+     *         be compiled with any encoding.
+     */
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"': literal.append("\\\""); break;
+                case '\\': literal.append("\\\\"); break;
+                case '\n': literal.append("\\n"); break;
+                case '\r': literal.append("\\r"); break;
+                case '\t': literal.append("\\t"); break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    /**
+     * @return Expression converting given parameter, or the value of an optional one, into its API parameter value.
+     */
+    private static String encode(ParamModel param) {
+        switch (param.encoding) {
+            case PRIMITIVE:
+                return "String.valueOf(" + param.name + ")";
+            case STRING:
+                return param.name;
+            case TO_STRING:
+                return param.name + ".toString()";
+            case OPTIONAL:
+                return param.name + ".get().toString()";
+            default:
+                return "asString(" + param.name + ")";
+        }
+    }
+
+    private String renderMethod(MethodModel method, int index) {
+        StringBuilder methodSource = new StringBuilder();
+        methodSource.append("    public ").append(method.returnType);
+        methodSource.append(" ").append(method.name).append("(");
+
+        String params = String.join(", ", method.params.stream()
+            .map((param) -> param.type + " " + param.name)
+            .collect(Collectors.toList()));
+        methodSource.append(params);
+
+        methodSource.append(") {\n");
+
+        methodSource.append("        ApiRequest request = newRequest(").append(methodField(method, index)).append(", ");
+        if (method.pathVariables.isEmpty()) {
+            methodSource.append(literal(method.path));
+        } else {
+            methodSource.append(pathField(method, index)).append(".expand(")
+                .append(String.join(", ", method.pathVariables.stream()
+                    .map(variable -> encode(method.params.stream().filter(param -> param.name.equals(variable)).findFirst().get()))
+                    .collect(Collectors.toList())))
+                .append(")");
+        }
+        methodSource.append(");\n");
+        for (ParamModel param : method.params) {
+            if (method.pathVariables.contains(param.name)) {
+                continue;
+            }
+            if (param.body) {
+                methodSource.append("        request.body(").append(param.name).append(");\n");
+                continue;
+            }
+            if (param.encoding == ParamEncoding.OPTIONAL) {
+                methodSource.append("        if (").append(param.name).append(".isPresent()) {\n")
+                    .append("            request.param(")
+                    .append(literal(param.apiName)).append(", ")
+                    .append(encode(param))
+                    .append(");\n")
+                    .append("        }\n");
+            } else {
+                methodSource.append("        request.param(")
+                    .append(literal(param.apiName)).append(", ")
+                    .append(encode(param))
+                    .append(");\n");
+            }
+        }
+
+        // results of primitive methods are unboxed, the ones of void methods discarded
+        methodSource.append(method.returnType.equals("void") ? "        " : "        return ")
+            .append(method.callMode.getHandlerName())
+            .append("(request, ").append(typeField(method, index)).append(");\n");
+        methodSource.append("    }\n");
+        return methodSource.toString();
+    }
+
+    /**
+     * Single {@link Api} annotated method of the client.
+     */
+    static final class MethodModel {
+        final String name;
+        final String returnType;
+        final CallMode callMode;
+        final String responseType;
+        final String path;
+        final List<String> pathVariables;
+        final List<ParamModel> params;
+
+        /**
+         * @param name Method name.
+         * @param returnType Return type with fully qualified names and type arguments.
+         * @param callMode How the method executes its call.
+         * @param responseType Type the response is deserialized to, with fully qualified names and type arguments.
+         * @param path Path of the API relative to the environment root, possibly with path variables.
+         * @param params Method parameters in declaration order.
+         */
+        MethodModel(String name, String returnType, CallMode callMode, String responseType, String path, List<ParamModel> params) {
+            this.name = name;
+            this.returnType = returnType;
+            this.callMode = callMode;
+            this.responseType = responseType;
+            this.path = path;
+            this.pathVariables = UrlTemplate.compile(path).getVariables();
+            this.params = ImmutableList.copyOf(params);
+        }
+    }
+
+    /**
+     * Single parameter of a {@link MethodModel}.
+     */
+    static final class ParamModel {
+        final String type;
+        final String name;
+        final String apiName;
+        final ParamEncoding encoding;
+        final boolean body;
+
+        /**
+         * @param type Fully qualified name of the erased parameter type.
+         * @param name Method parameter name.
+         * @param apiName Name of the parameter in API's own {@link Client#paramFormat()}.
+         * @param encoding How the argument is converted into the parameter value.
+         * @param body Whether the argument is sent as the request {@link Body} instead.
+         */
+        ParamModel(String type, String name, String apiName, ParamEncoding encoding, boolean body) {
+            this.type = type;
+            this.name = name;
+            this.apiName = apiName;
+            this.encoding = encoding;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.induct.apiary;
+
+import com.google.common.collect.ImmutableList;
+
+import javax.inject.Singleton;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link ApiMetrics} keeping {@link MethodStats} of every API method in memory, shared by all clients of an injector.
+ * Enable with <code>bind(ApiMetrics.class).to(CollectingApiMetrics.class)</code>.
+ *
+ * @since 18.10.2026
+ */
+@Singleton
+public class CollectingApiMetrics implements ApiMetrics {
+
+    private final ConcurrentMap<Method, MethodStats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public MethodStats recorderOf(Method apiMethod) {
+        return stats.computeIfAbsent(apiMethod, MethodStats::new);
+    }
+
+    /**
+     * @return Metrics of given API method, if any client of it has been created.
+     */
+    public Optional<MethodStats> getStats(Method apiMethod) {
+        return Optional.ofNullable(stats.get(apiMethod));
+    }
+
+    /**
+     * @return Metrics of all API methods whose clients have been created.
+     */
+    public List<MethodStats> getStats() {
+        return ImmutableList.copyOf(stats.values());
+    }
+}
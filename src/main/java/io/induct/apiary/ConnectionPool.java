@@ -0,0 +1,46 @@
+package io.induct.apiary;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Connection settings of a {@link Client}, applied by the {@link Transport} its calls are sent with. Transports apply
+ * the settings their HTTP client supports, and keep their own defaults for the others:
+ * <ul>
+ *     <li>{@link JdkHttpTransport} creates an HTTP client per distinct settings, which negotiates HTTP/2 as configured
+ *     and limits the exchanges in flight. Its keep-alive is JVM wide, set with the
+ *     <code>jdk.httpclient.keepalive.timeout</code> system property.</li>
+ *     <li>{@link NingTransport} and the default transport queue exchanges beyond the maximum connections, and derive
+ *     an <code>AsyncHttpClient</code> with a connection pool of its own from the bound one for keep-alive settings.
+ *     HTTP/2 is not supported.</li>
+ *     <li>{@link InductTransport} sends with the bound <code>HttpClient</code> as is.</li>
+ * </ul>
+ *
+ * @since 18.10.2026
+ */
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConnectionPool {
+    /**
+     * Maximum number of connections, and so of exchanges in flight over HTTP/1.1. Exchanges beyond it wait for one to
+     * complete. Zero keeps the default of the transport.
+     */
+    int maxConnections() default 0;
+
+    /**
+     * Time in milliseconds idle connections are kept open for reuse. Zero keeps the default of the transport, a
+     * negative value closes connections after each exchange.
+     */
+    long keepAliveMillis() default 0;
+
+    /**
+     * Maximum number of concurrent HTTP/2 streams per connection. Zero keeps the default of the transport.
+     */
+    int maxStreamsPerConnection() default 0;
+
+    /**
+     * Whether HTTP/2 is negotiated with hosts which support it. Requests fall back to HTTP/1.1 otherwise.
+     */
+    boolean http2() default true;
+}
@@ -0,0 +1,69 @@
+package io.induct.apiary;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.google.common.base.Preconditions;
+
+/**
+ * Format request and response bodies are exchanged in, other than JSON, identified by its media type. Bodies are read
+ * and written with the {@link JsonFactory} of the format through the same <code>ObjectMapper</code> as JSON ones, so
+ * its modules and naming strategy apply to every format.
+ *
+ * Smile, CBOR and MessagePack are available once their Jackson data format is on the classpath. Other formats, or
+ * differently configured factories of these, are bound with a Guice <code>Multibinder&lt;DataFormat&gt;</code>.
+ *
+ * @see Client#accept()
+ * @see Client#contentType()
+ * @since 18.10.2026
+ */
+public final class DataFormat {
+
+    public static final String JSON = "application/json";
+
+    /**
+     * Media type of Smile, available with <code>jackson-dataformat-smile</code>.
+     */
+    public static final String SMILE = "application/x-jackson-smile";
+
+    /**
+     * Media type of CBOR, available with <code>jackson-dataformat-cbor</code>.
+     */
+    public static final String CBOR = "application/cbor";
+
+    /**
+     * Media type of MessagePack, available with <code>org.msgpack:jackson-dataformat-msgpack</code>.
+     */
+    public static final String MESSAGE_PACK = "application/x-msgpack";
+
+    private final String mediaType;
+    private final JsonFactory factory;
+
+    private DataFormat(String mediaType, JsonFactory factory) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+    }
+
+    /**
+     * @param mediaType Media type of the format, without parameters.
+     * @param factory Factory of the parsers and generators of the format.
+     * @throws IllegalArgumentException if the media type is {@link #JSON}, which is always read and written with the
+     *         factory of the <code>ObjectMapper</code>.
+     */
+    public static DataFormat of(String mediaType, JsonFactory factory) {
+        String normalized = DataFormats.mediaTypeOf(mediaType);
+        Preconditions.checkArgument(!normalized.equals(JSON), "JSON is handled by the ObjectMapper");
+        return new DataFormat(normalized, Preconditions.checkNotNull(factory));
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public JsonFactory getFactory() {
+        return factory;
+    }
+
+    @Override
+    public String toString() {
+        return "DataFormat{" + mediaType + "}";
+    }
+}
@@ -0,0 +1,144 @@
+package io.induct.apiary;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Multimap;
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link DataFormat Data formats} known to the clients of an injector: the built-in ones whose Jackson data format is
+ * on the classpath, and the ones bound with a <code>Multibinder&lt;DataFormat&gt;</code>, which replace built-in ones
+ * of the same media type. Responses are decoded in the format their <code>Content-Type</code> names, which is resolved
+ * once per distinct header value. JSON, and any type not known here, is represented by <code>null</code> and read with
+ * the <code>ObjectMapper</code> as is. Types with the <code>+json</code> structured syntax suffix, such as vendor
+ * specific ones, are JSON written with the factory of the <code>ObjectMapper</code> unless bound otherwise.
+ *
+ * @since 18.10.2026
+ */
+@Singleton
+final class DataFormats {
+
+    /**
+     * Factories of the built-in formats, resolved reflectively as their data formats are optional dependencies.
+     */
+    private static final Map<String, DataFormat> BUILT_IN = builtIn(ImmutableMap.of(
+            DataFormat.SMILE, "com.fasterxml.jackson.dataformat.smile.SmileFactory",
+            DataFormat.CBOR, "com.fasterxml.jackson.dataformat.cbor.CBORFactory",
+            DataFormat.MESSAGE_PACK, "org.msgpack.jackson.dataformat.MessagePackFactory"));
+
+    /**
+     * Distinct <code>Content-Type</code> values remembered, so that a misbehaving upstream can't grow the cache.
+     */
+    private static final int MAX_CACHED_CONTENT_TYPES = 64;
+
+    private static final String JSON_SUFFIX = "+json";
+
+    private final Map<String, DataFormat> formats;
+    private final JsonFactory jsonFactory;
+    private final ConcurrentMap<String, DataFormat> jsonSuffixed = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Optional<DataFormat>> byContentType = new ConcurrentHashMap<>();
+
+    @Inject
+    DataFormats(Injector injector, ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+        Map<String, DataFormat> known = new HashMap<>(BUILT_IN);
+        Binding<Set<DataFormat>> bound = injector.getExistingBinding(Key.get(new TypeLiteral<Set<DataFormat>>() {}));
+        if (bound != null) {
+            bound.getProvider().get().forEach(format -> known.put(format.getMediaType(), format));
+        }
+        this.formats = ImmutableMap.copyOf(known);
+    }
+
+    private static Map<String, DataFormat> builtIn(Map<String, String> factoryClasses) {
+        ImmutableMap.Builder<String, DataFormat> available = ImmutableMap.builder();
+        factoryClasses.forEach((mediaType, factoryClass) -> {
+            try {
+                JsonFactory factory = (JsonFactory) Class.forName(factoryClass, true, DataFormats.class.getClassLoader()).getDeclaredConstructor().newInstance();
+                available.put(mediaType, DataFormat.of(mediaType, factory));
+            } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+                // data format not on the classpath, or of an incompatible Jackson version
+            }
+        });
+        return available.build();
+    }
+
+    /**
+     * @return Media type without parameters, in lower case.
+     */
+    static String mediaTypeOf(String contentType) {
+        int parameters = contentType.indexOf(';');
+        return (parameters >= 0 ? contentType.substring(0, parameters) : contentType).trim().toLowerCase();
+    }
+
+    /**
+     * @return Format of given media type, or <code>null</code> for JSON.
+     * @throws ClientGenerationException if the format is not known.
+     */
+    DataFormat forMediaType(String mediaType) {
+        String normalized = mediaTypeOf(mediaType);
+        if (normalized.equals(DataFormat.JSON)) {
+            return null;
+        }
+        DataFormat format = formats.get(normalized);
+        if (format == null && normalized.endsWith(JSON_SUFFIX)) {
+            format = jsonSuffixed.computeIfAbsent(normalized, type -> DataFormat.of(type, jsonFactory));
+        }
+        if (format == null) {
+            throw new ClientGenerationException("Data format " + normalized + " is not available, add its Jackson data format to the classpath or bind a " + DataFormat.class.getSimpleName() + " for it");
+        }
+        return format;
+    }
+
+    /**
+     * @return <code>Accept</code> header value listing given media types in order of preference.
+     * @throws ClientGenerationException if any of the formats is not known.
+     */
+    String acceptHeaderOf(String[] mediaTypes) {
+        StringBuilder accept = new StringBuilder();
+        for (int i = 0; i < mediaTypes.length; i++) {
+            forMediaType(mediaTypes[i]);
+            if (i > 0) {
+                accept.append(", ");
+            }
+            accept.append(mediaTypeOf(mediaTypes[i]));
+            if (i > 0) {
+                accept.append(";q=0.").append(Math.max(1, 10 - i));
+            }
+        }
+        return accept.toString();
+    }
+
+    /**
+     * @return Format of a response with given headers, or <code>null</code> if it is JSON or of a type not known.
+     */
+    DataFormat formatOf(Multimap<String, String> headers) {
+        if (formats.isEmpty()) {
+            return null;
+        }
+        Optional<String> contentType = CacheHeaders.header(headers, TransportRequest.CONTENT_TYPE);
+        if (!contentType.isPresent()) {
+            return null;
+        }
+        Optional<DataFormat> format = byContentType.get(contentType.get());
+        if (format == null) {
+            format = Optional.ofNullable(formats.get(mediaTypeOf(contentType.get())));
+            if (byContentType.size() < MAX_CACHED_CONTENT_TYPES) {
+                byContentType.put(contentType.get(), format);
+            }
+        }
+        return format.orElse(null);
+    }
+}
@@ -0,0 +1,90 @@
+package io.induct.apiary;
+
+import com.ning.http.client.AsyncHttpClient;
+import io.induct.http.HttpClient;
+
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link Transport} of clients when none is bound. Blocking calls are sent with the bound <code>HttpClient</code>,
+ * asynchronous calls and <code>PATCH</code> requests, which it can't send, with the bound <code>AsyncHttpClient</code>
+ * if there is one. Clients declaring {@link ConnectionPool} settings send all their calls with an
+ * <code>AsyncHttpClient</code> derived for the settings, if one is bound. The derived clients are closed by
+ * {@link Apiary#close()}.
+ *
+ * @since 18.10.2026
+ */
+@Singleton
+final class DefaultTransport implements Transport, AutoCloseable {
+
+    private InductTransport blocking;
+    private NingTransport async;
+    private final ConcurrentMap<ConnectionPool, DefaultTransport> pooled = new ConcurrentHashMap<>();
+
+    @com.google.inject.Inject(optional = true)
+    void setHttpClient(HttpClient httpClient) {
+        this.blocking = new InductTransport(httpClient);
+    }
+
+    @com.google.inject.Inject(optional = true)
+    void setAsyncHttpClient(AsyncHttpClient asyncHttpClient) {
+        this.async = new NingTransport(asyncHttpClient);
+    }
+
+    /**
+     * Checks that the clients are bound once they have been injected, as Guice injects methods in no particular order.
+     */
+    void checkClients() {
+        if (blocking == null && async == null) {
+            throw new ApiaryException("Either a " + Transport.class.getName() + ", " + HttpClient.class.getName()
+                    + " or " + AsyncHttpClient.class.getName() + " must be bound");
+        }
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        if (async != null && (blocking == null || request.getMethod() == HttpMethod.PATCH)) {
+            return async.execute(request);
+        }
+        return blocking.execute(request);
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+        return async != null ? async.executeAsync(request) : Transport.super.executeAsync(request);
+    }
+
+    @Override
+    public Transport configure(ConnectionPool pool) {
+        NingTransport configured = async != null ? async.configure(pool) : null;
+        if (configured == null || configured == async) {
+            return this;
+        }
+        return pooled.computeIfAbsent(pool, p -> {
+            DefaultTransport transport = new DefaultTransport();
+            transport.async = configured;
+            return transport;
+        });
+    }
+
+    /**
+     * Closes the <code>AsyncHttpClient</code>s derived for {@link ConnectionPool} settings. Bound clients are left
+     * open.
+     */
+    @Override
+    public void close() {
+        pooled.clear();
+        if (async != null) {
+            async.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultTransport{blocking=" + blocking + ", async=" + async + "}";
+    }
+}
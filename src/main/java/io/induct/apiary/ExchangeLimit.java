@@ -0,0 +1,106 @@
+package io.induct.apiary;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of exchanges a {@link Transport} has in flight, eg. to the connections of its pool. Permits are
+ * handed to waiting exchanges in arrival order without blocking, so asynchronous calls can wait for them as well.
+ *
+ * @since 18.10.2026
+ */
+final class ExchangeLimit {
+
+    private static final CompletableFuture<Void> GRANTED = CompletableFuture.completedFuture(null);
+
+    private final int permits;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // guarded by lock
+    private final Queue<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private int active;
+
+    ExchangeLimit(int permits) {
+        this.permits = permits;
+    }
+
+    /**
+     * @return Future completed once a permit is granted. Cancelling it before then gives up waiting, a granted permit
+     *         must be {@link #release() released}.
+     */
+    CompletableFuture<Void> acquire() {
+        lock.lock();
+        try {
+            if (active < permits) {
+                active++;
+                return GRANTED;
+            }
+            CompletableFuture<Void> permit = new CompletableFuture<>();
+            waiting.add(permit);
+            return permit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts an asynchronous exchange once a permit is granted, and releases the permit once the exchange completes.
+     * Completing the returned future exceptionally, eg. by cancelling it, gives up waiting or aborts the exchange.
+     */
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> exchange) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Void> permit = acquire();
+        result.whenComplete((value, failure) -> permit.cancel(false));
+        permit.thenRun(() -> {
+            if (result.isDone()) {
+                release();
+                return;
+            }
+            CompletableFuture<T> started;
+            try {
+                started = exchange.get();
+            } catch (RuntimeException | Error e) {
+                release();
+                result.completeExceptionally(e);
+                return;
+            }
+            started.whenComplete((value, failure) -> {
+                release();
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else {
+                    result.complete(value);
+                }
+            });
+            result.whenComplete((value, failure) -> {
+                if (failure != null) {
+                    started.cancel(true);
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Hands the permit to the next exchange still waiting for one, if any.
+     */
+    void release() {
+        CompletableFuture<Void> next;
+        do {
+            lock.lock();
+            try {
+                next = waiting.poll();
+                if (next == null) {
+                    active--;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            // completed outside the lock, as it starts the exchange
+        } while (!next.complete(null));
+    }
+}
@@ -0,0 +1,65 @@
+package io.induct.apiary;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Defines generated client classes straight from bytecode held in memory. Classes are registered in batches and
+ * defined lazily when first loaded, which allows eg. anonymous inner classes of a generated client to be resolved
+ * without any further bookkeeping.
+ *
+ * @since 18.10.2026
+ */
+class GeneratedClassLoader extends ClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    private final ConcurrentMap<String, byte[]> bytecode = new ConcurrentHashMap<>();
+
+    GeneratedClassLoader(ClassLoader parent) {
+        super(parent);
+    }
+
+    /**
+     * Registers bytecode of classes to be defined by this class loader. Registering a class which is already known with
+     * identical bytecode is a no-op.
+     *
+     * @param classes Bytecode keyed with binary names of the classes.
+     * @return <code>false</code> if any of the classes was already registered with different bytecode, in which case
+     *         none of the classes are registered.
+     */
+    synchronized boolean register(Map<String, byte[]> classes) {
+        for (Map.Entry<String, byte[]> cls : classes.entrySet()) {
+            byte[] existing = bytecode.get(cls.getKey());
+            if (existing != null && !Arrays.equals(existing, cls.getValue())) {
+                return false;
+            }
+        }
+        bytecode.putAll(classes);
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> if the given class resolves to the same class through this class loader.
+     */
+    boolean canSee(Class<?> cls) {
+        try {
+            return Class.forName(cls.getName(), false, this) == cls;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        byte[] classBytes = bytecode.get(name);
+        if (classBytes == null) {
+            throw new ClassNotFoundException(name);
+        }
+        return defineClass(name, classBytes, 0, classBytes.length);
+    }
+}
@@ -0,0 +1,45 @@
+package io.induct.apiary;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Output of a {@link ClientGenerator}: bytecode of the generated client class and of all classes it depends on, eg.
+ * anonymous inner classes.
+ *
+ * @since 18.10.2026
+ */
+public final class GeneratedClient {
+    private final String className;
+    private final Map<String, byte[]> classes;
+    private final Optional<String> source;
+
+    public GeneratedClient(String className, Map<String, byte[]> classes, Optional<String> source) {
+        this.className = className;
+        this.classes = ImmutableMap.copyOf(classes);
+        this.source = source;
+    }
+
+    /**
+     * @return Binary name of the generated client class.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return Bytecode of all generated classes keyed with their binary names.
+     */
+    public Map<String, byte[]> getClasses() {
+        return classes;
+    }
+
+    /**
+     * @return Java source the classes were compiled from, if the backend works through source.
+     */
+    public Optional<String> getSource() {
+        return source;
+    }
+}
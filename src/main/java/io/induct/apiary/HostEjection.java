@@ -0,0 +1,33 @@
+package io.induct.apiary;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Outlier detection for the roots of a {@link Client.Environment#roots() multi-root environment}. A root failing too
+ * many calls in a row, or responding too slowly on average, is ejected from load balancing for a while and then
+ * re-admitted. Calls fail if they can't be sent, or if they receive a 5xx response. If every root is ejected at once,
+ * calls are spread over all of them as if none were.
+ *
+ * @since 18.10.2026
+ */
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface HostEjection {
+    /**
+     * Number of consecutive failed calls after which a root is ejected. Zero disables ejection on failures.
+     */
+    int consecutiveFailures() default 5;
+
+    /**
+     * Exponentially weighted moving average of call latency in milliseconds above which a root is ejected. Zero
+     * disables ejection on latency.
+     */
+    long maxLatencyMillis() default 0;
+
+    /**
+     * Time in milliseconds an ejected root is kept out of load balancing.
+     */
+    long ejectionMillis() default 30000;
+}
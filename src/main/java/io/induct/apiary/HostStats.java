@@ -0,0 +1,52 @@
+package io.induct.apiary;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of a single root of a {@link Client.Environment#roots() multi-root environment}.
+ *
+ * @since 18.10.2026
+ */
+public final class HostStats {
+    private final String root;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder ejections = new LongAdder();
+
+    HostStats(String root) {
+        this.root = root;
+    }
+
+    void recordCall() {
+        calls.increment();
+    }
+
+    void recordFailure() {
+        failures.increment();
+    }
+
+    void recordEjection() {
+        ejections.increment();
+    }
+
+    public String getRoot() {
+        return root;
+    }
+
+    public long getCallCount() {
+        return calls.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    public long getEjectionCount() {
+        return ejections.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "HostStats{root='" + root + "', calls=" + getCallCount() + ", failures=" + getFailureCount() + ", ejections=" + getEjectionCount() + "}";
+    }
+}
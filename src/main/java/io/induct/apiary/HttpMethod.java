@@ -0,0 +1,18 @@
+package io.induct.apiary;
+
+/**
+ * HTTP method an {@link Api} is called with.
+ *
+ * @since 18.10.2026
+ */
+public enum HttpMethod {
+    GET,
+    POST,
+    PUT,
+    /**
+     * Requires Ning's <code>AsyncHttpClient</code> to be bound, as the blocking <code>HttpClient</code> has no
+     * <code>PATCH</code> support.
+     */
+    PATCH,
+    DELETE
+}
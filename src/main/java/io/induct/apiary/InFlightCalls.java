@@ -0,0 +1,75 @@
+package io.induct.apiary;
+
+import com.google.common.base.Throwables;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight registry of {@link Api#coalesce() coalesced} calls. The first caller of a key executes the call and
+ * all callers arriving while it is in flight wait for and share its result, or its failure.
+ *
+ * @since 18.10.2026
+ */
+final class InFlightCalls {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+
+    /**
+     * Executes the blocking call on the calling thread, unless an identical call is already in flight.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T share(String key, Supplier<T> call) {
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = calls.putIfAbsent(key, leader);
+        if (inFlight != null) {
+            try {
+                return (T) inFlight.join();
+            } catch (CompletionException e) {
+                Throwables.propagateIfPossible(e.getCause());
+                throw e;
+            }
+        }
+
+        try {
+            T result = call.get();
+            leader.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, leader);
+        }
+    }
+
+    /**
+     * Starts the asynchronous call, unless an identical call is already in flight. Each caller receives its own
+     * future, so cancelling it does not affect the others.
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> shareAsync(String key, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = calls.putIfAbsent(key, leader);
+        if (inFlight == null) {
+            inFlight = leader;
+            try {
+                call.get().whenComplete((result, failure) -> {
+                    calls.remove(key, leader);
+                    if (failure != null) {
+                        leader.completeExceptionally(failure);
+                    } else {
+                        leader.complete(result);
+                    }
+                });
+            } catch (RuntimeException | Error e) {
+                calls.remove(key, leader);
+                leader.completeExceptionally(e);
+            }
+        }
+        return inFlight.thenApply(result -> (T) result);
+    }
+}
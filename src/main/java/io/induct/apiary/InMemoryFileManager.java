@@ -0,0 +1,79 @@
+package io.induct.apiary;
+
+import com.google.common.collect.ImmutableMap;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link JavaFileManager} which collects all compiler output into byte arrays instead of writing it to disk. Input
+ * lookups are forwarded to the wrapped file manager so that the compiler can still resolve the classpath.
+ *
+ * @since 18.10.2026
+ */
+class InMemoryFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+
+    private final Map<String, ClassOutput> outputs = new LinkedHashMap<>();
+
+    InMemoryFileManager(JavaFileManager fileManager) {
+        super(fileManager);
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+        ClassOutput output = new ClassOutput(className, kind);
+        outputs.put(className, output);
+        return output;
+    }
+
+    /**
+     * @return Bytecode of all classes produced by the compiler so far, keyed with their binary names.
+     */
+    Map<String, byte[]> getClasses() {
+        ImmutableMap.Builder<String, byte[]> classes = ImmutableMap.builder();
+        outputs.forEach((name, output) -> classes.put(name, output.getBytes()));
+        return classes.build();
+    }
+
+    /**
+     * Java source held in memory.
+     */
+    static class Source extends SimpleJavaFileObject {
+        private final String content;
+
+        Source(String className, String content) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+
+    private static class ClassOutput extends SimpleJavaFileObject {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        ClassOutput(String className, Kind kind) {
+            super(URI.create("bytes:///" + className.replace('.', '/') + kind.extension), kind);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return bytes;
+        }
+
+        byte[] getBytes() {
+            return bytes.toByteArray();
+        }
+    }
+}
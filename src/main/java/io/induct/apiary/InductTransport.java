@@ -0,0 +1,43 @@
+package io.induct.apiary;
+
+import io.induct.http.HttpClient;
+import io.induct.http.Response;
+import io.induct.http.builders.RequestBuilder;
+
+import javax.inject.Inject;
+import java.io.InputStream;
+
+/**
+ * Blocking {@link Transport} sending requests with an <code>io.induct.http.HttpClient</code>, which is pooled as
+ * configured when it was built. <code>PATCH</code> is not supported.
+ *
+ * @since 18.10.2026
+ */
+public final class InductTransport implements Transport {
+
+    private final HttpClient httpClient;
+
+    @Inject
+    public InductTransport(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) {
+        RequestBuilder builder = new RequestBuilder(httpClient)
+                .withUrl(request.getUrl())
+                .withParams(params -> params.putAll(request.getParams()))
+                .withHeaders(headers -> headers.putAll(request.getHeaders()));
+        InputStream body = request.openBody();
+        if (body != null) {
+            builder.withBody(body);
+        }
+        Response response = ApiClient.execute(builder.build(), request.getMethod());
+        return TransportResponse.streamed(response.getStatusCode(), response.getResponseHeaders(), response.getResponseBody().orNull(), response);
+    }
+
+    @Override
+    public String toString() {
+        return "InductTransport{" + httpClient + "}";
+    }
+}
@@ -0,0 +1,306 @@
+package io.induct.apiary;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.Multimap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * {@link Transport} sending requests with the <code>java.net.http.HttpClient</code> of Java 11 and later, which
+ * negotiates HTTP/2 and multiplexes concurrent requests to a host over a single connection. Blocking calls stream
+ * their response bodies, asynchronous ones receive them buffered.
+ *
+ * Apiary targets Java 8, so the client is used reflectively. Clients declaring {@link ConnectionPool} settings get an
+ * HTTP client of their own per distinct settings, which negotiates HTTP/2 unless {@link ConnectionPool#http2()} is
+ * disabled and limits the exchanges in flight to {@link ConnectionPool#maxConnections()}, multiplied by
+ * {@link ConnectionPool#maxStreamsPerConnection()} with HTTP/2. Keep-alive of the JDK client can only be configured
+ * JVM wide, with the <code>jdk.httpclient.keepalive.timeout</code> system property.
+ *
+ * @since 18.10.2026
+ */
+public final class JdkHttpTransport implements Transport {
+
+    /**
+     * Headers the JDK client sets itself and refuses to take from requests.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = ImmutableSet.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final Object client;
+    private final ExchangeLimit limit;
+    private final ConcurrentMap<ConnectionPool, JdkHttpTransport> pooled;
+
+    /**
+     * Creates a transport negotiating HTTP/2 without limiting the exchanges in flight.
+     *
+     * @throws UnsupportedOperationException if running on Java 8, which has no <code>java.net.http</code>.
+     */
+    public JdkHttpTransport() {
+        this(true, 0, new ConcurrentHashMap<>());
+    }
+
+    private JdkHttpTransport(boolean http2, int maxExchanges, ConcurrentMap<ConnectionPool, JdkHttpTransport> pooled) {
+        if (Jdk.UNAVAILABLE != null) {
+            throw new UnsupportedOperationException("java.net.http requires Java 11 or later", Jdk.UNAVAILABLE);
+        }
+        try {
+            Object builder = Jdk.NEW_CLIENT_BUILDER.invoke(null);
+            Jdk.CLIENT_VERSION.invoke(builder, http2 ? Jdk.HTTP_2 : Jdk.HTTP_1_1);
+            this.client = Jdk.BUILD_CLIENT.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create java.net.http client", e);
+        }
+        this.limit = maxExchanges > 0 ? new ExchangeLimit(maxExchanges) : null;
+        this.pooled = pooled;
+    }
+
+    /**
+     * @return <code>true</code> if <code>java.net.http</code> is available.
+     */
+    public static boolean isSupported() {
+        return Jdk.UNAVAILABLE == null;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        Object httpRequest = toHttpRequest(request);
+        if (limit != null) {
+            CompletableFuture<Void> permit = limit.acquire();
+            try {
+                permit.get();
+            } catch (InterruptedException e) {
+                if (!permit.cancel(false)) {
+                    limit.release();
+                }
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a connection for " + request);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        try {
+            Object response = invoke(Jdk.SEND, client, httpRequest, Jdk.STREAMING);
+            InputStream body = (InputStream) Jdk.BODY.invoke(response);
+            return TransportResponse.streamed((int) Jdk.STATUS_CODE.invoke(response), headersOf(response), body, () -> {
+                try {
+                    body.close();
+                } finally {
+                    release(released);
+                }
+            });
+        } catch (IOException | RuntimeException | Error e) {
+            release(released);
+            throw e;
+        } catch (ReflectiveOperationException e) {
+            release(released);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+        return limit != null ? limit.submit(() -> exchange(request)) : exchange(request);
+    }
+
+    /**
+     * Sends the request with the body of the response buffered, so that the exchange completes only once it has been
+     * received.
+     */
+    private CompletableFuture<TransportResponse> exchange(TransportRequest request) {
+        CompletableFuture<?> exchange;
+        try {
+            exchange = (CompletableFuture<?>) invoke(Jdk.SEND_ASYNC, client, toHttpRequest(request), Jdk.BUFFERING);
+        } catch (IOException e) {
+            CompletableFuture<TransportResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        CompletableFuture<TransportResponse> result = exchange.handle((response, failure) -> {
+            if (failure != null) {
+                throw failure instanceof CompletionException ? (CompletionException) failure : new CompletionException(failure);
+            }
+            try {
+                return TransportResponse.buffered((int) Jdk.STATUS_CODE.invoke(response), headersOf(response), (byte[]) Jdk.BODY.invoke(response));
+            } catch (ReflectiveOperationException e) {
+                throw new CompletionException(e);
+            }
+        });
+        result.whenComplete((response, failure) -> {
+            if (failure != null) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private void release(AtomicBoolean released) {
+        if (limit != null && released.compareAndSet(false, true)) {
+            limit.release();
+        }
+    }
+
+    @Override
+    public JdkHttpTransport configure(ConnectionPool pool) {
+        int maxExchanges = pool.http2() && pool.maxStreamsPerConnection() > 0
+                ? pool.maxStreamsPerConnection() * Math.max(1, pool.maxConnections())
+                : pool.maxConnections();
+        if (pool.http2() && maxExchanges == 0 && limit == null) {
+            return this;
+        }
+        return pooled.computeIfAbsent(pool, p -> new JdkHttpTransport(p.http2(), maxExchanges, pooled));
+    }
+
+    private static Object toHttpRequest(TransportRequest request) throws IOException {
+        Object builder = invoke(Jdk.NEW_REQUEST_BUILDER, null, request.getUri());
+        for (Map.Entry<String, String> header : request.getHeaders().entries()) {
+            if (!RESTRICTED_HEADERS.contains(header.getKey().toLowerCase())) {
+                invoke(Jdk.HEADER, builder, header.getKey(), header.getValue());
+            }
+        }
+        invoke(Jdk.METHOD, builder, request.getMethod().name(), publisherOf(request));
+        return invoke(Jdk.BUILD_REQUEST, builder);
+    }
+
+    private static Object publisherOf(TransportRequest request) throws IOException {
+        RequestBody body = request.body();
+        if (body == null) {
+            return invoke(Jdk.NO_BODY, null);
+        }
+        if (body.array() != null) {
+            return invoke(Jdk.OF_BYTE_ARRAY, null, body.array(), 0, body.getLength());
+        }
+        Path file = body.file();
+        if (file != null) {
+            return invoke(Jdk.OF_FILE, null, file);
+        }
+        Supplier<InputStream> stream = body::openStream;
+        return invoke(Jdk.OF_INPUT_STREAM, null, stream);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Multimap<String, String> headersOf(Object response) throws ReflectiveOperationException {
+        Map<String, List<String>> map = (Map<String, List<String>>) Jdk.MAP.invoke(Jdk.HEADERS.invoke(response));
+        Multimap<String, String> headers = LinkedListMultimap.create();
+        for (Map.Entry<String, List<String>> header : map.entrySet()) {
+            // HTTP/2 pseudo-headers, eg. :status
+            if (!header.getKey().startsWith(":")) {
+                headers.putAll(header.getKey(), header.getValue());
+            }
+        }
+        return headers;
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) throws IOException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(cause.getMessage());
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JdkHttpTransport{" + client + "}";
+    }
+
+    /**
+     * Reflectively resolved <code>java.net.http</code> API.
+     */
+    private static final class Jdk {
+        static final ReflectiveOperationException UNAVAILABLE;
+        static Method NEW_CLIENT_BUILDER;
+        static Method CLIENT_VERSION;
+        static Method BUILD_CLIENT;
+        static Object HTTP_2;
+        static Object HTTP_1_1;
+        static Method SEND;
+        static Method SEND_ASYNC;
+        static Method NEW_REQUEST_BUILDER;
+        static Method HEADER;
+        static Method METHOD;
+        static Method BUILD_REQUEST;
+        static Method NO_BODY;
+        static Method OF_BYTE_ARRAY;
+        static Method OF_FILE;
+        static Method OF_INPUT_STREAM;
+        static Object STREAMING;
+        static Object BUFFERING;
+        static Method STATUS_CODE;
+        static Method HEADERS;
+        static Method BODY;
+        static Method MAP;
+
+        static {
+            ReflectiveOperationException unavailable = null;
+            try {
+                Class<?> httpClient = Class.forName("java.net.http.HttpClient");
+                Class<?> clientBuilder = Class.forName("java.net.http.HttpClient$Builder");
+                Class<?> version = Class.forName("java.net.http.HttpClient$Version");
+                Class<?> httpRequest = Class.forName("java.net.http.HttpRequest");
+                Class<?> requestBuilder = Class.forName("java.net.http.HttpRequest$Builder");
+                Class<?> publisher = Class.forName("java.net.http.HttpRequest$BodyPublisher");
+                Class<?> publishers = Class.forName("java.net.http.HttpRequest$BodyPublishers");
+                Class<?> httpResponse = Class.forName("java.net.http.HttpResponse");
+                Class<?> handler = Class.forName("java.net.http.HttpResponse$BodyHandler");
+                Class<?> handlers = Class.forName("java.net.http.HttpResponse$BodyHandlers");
+                NEW_CLIENT_BUILDER = httpClient.getMethod("newBuilder");
+                CLIENT_VERSION = clientBuilder.getMethod("version", version);
+                BUILD_CLIENT = clientBuilder.getMethod("build");
+                HTTP_2 = version.getField("HTTP_2").get(null);
+                HTTP_1_1 = version.getField("HTTP_1_1").get(null);
+                SEND = httpClient.getMethod("send", httpRequest, handler);
+                SEND_ASYNC = httpClient.getMethod("sendAsync", httpRequest, handler);
+                NEW_REQUEST_BUILDER = httpRequest.getMethod("newBuilder", URI.class);
+                HEADER = requestBuilder.getMethod("header", String.class, String.class);
+                METHOD = requestBuilder.getMethod("method", String.class, publisher);
+                BUILD_REQUEST = requestBuilder.getMethod("build");
+                NO_BODY = publishers.getMethod("noBody");
+                OF_BYTE_ARRAY = publishers.getMethod("ofByteArray", byte[].class, int.class, int.class);
+                OF_FILE = publishers.getMethod("ofFile", Path.class);
+                OF_INPUT_STREAM = publishers.getMethod("ofInputStream", Supplier.class);
+                STREAMING = handlers.getMethod("ofInputStream").invoke(null);
+                BUFFERING = handlers.getMethod("ofByteArray").invoke(null);
+                STATUS_CODE = httpResponse.getMethod("statusCode");
+                HEADERS = httpResponse.getMethod("headers");
+                BODY = httpResponse.getMethod("body");
+                MAP = Class.forName("java.net.http.HttpHeaders").getMethod("map");
+            } catch (ReflectiveOperationException e) {
+                unavailable = e;
+            }
+            UNAVAILABLE = unavailable;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.induct.apiary;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.collect.AbstractIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Iterates the elements of a top-level JSON array response incrementally. The array is read with Jackson's streaming
+ * parser and only the element currently being deserialized is held in memory, which keeps memory use of arbitrarily
+ * large list responses bounded by their largest element. Arrays of binary {@link DataFormat data formats} are read
+ * the same way with the parser of the format the element reader is specialized for.
+ *
+ * The underlying {@link TransportResponse} is closed once the array has been fully read, deserialization fails or the iterator
+ * is {@link #close() closed}, whichever happens first.
+ *
+ * @since 18.10.2026
+ */
+final class JsonArrayIterator<T> extends AbstractIterator<T> implements AutoCloseable {
+
+    private final Logger log = LoggerFactory.getLogger(JsonArrayIterator.class);
+
+    private final TransportResponse response;
+    private final JsonParser parser;
+    private final ObjectReader elementReader;
+    private boolean closed;
+
+    /**
+     * Opens given response body for iteration. The response is closed if the body does not start a JSON array.
+     */
+    JsonArrayIterator(TransportResponse response, InputStream body, ObjectReader elementReader) {
+        this.response = response;
+        this.elementReader = elementReader;
+        try {
+            this.parser = elementReader.getFactory().createParser(body);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ApiaryException("Streamed response body must be a JSON array, was " + parser.getCurrentToken());
+            }
+        } catch (IOException e) {
+            response.close();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+
+    @Override
+    protected T computeNext() {
+        if (closed) {
+            return endOfData();
+        }
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                close();
+                return endOfData();
+            }
+            // elements are bound straight from the shared parser without copying them out first
+            return elementReader.readValue(parser);
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            parser.close();
+        } catch (IOException e) {
+            log.debug("Failed to close JSON parser", e);
+        } finally {
+            response.close();
+        }
+    }
+}
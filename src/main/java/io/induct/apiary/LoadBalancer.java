@@ -0,0 +1,209 @@
+package io.induct.apiary;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Spreads calls over the roots of a {@link Client.Environment#roots() multi-root environment} with its
+ * {@link LoadBalancing} strategy, and ejects failing or slow roots as configured with {@link HostEjection}. Every
+ * selected {@link Host} must be released exactly once when its call completes.
+ *
+ * Balancers are shared by all clients of the same API defining interface using an identical {@link ClientEnvironment},
+ * regardless of client instance, so switching a client back and forth keeps the state of its hosts.
+ *
+ * @since 18.10.2026
+ */
+final class LoadBalancer {
+
+    private static final ClassValue<ConcurrentMap<ClientEnvironment, Optional<LoadBalancer>>> BALANCERS = new ClassValue<ConcurrentMap<ClientEnvironment, Optional<LoadBalancer>>>() {
+        @Override
+        protected ConcurrentMap<ClientEnvironment, Optional<LoadBalancer>> computeValue(Class<?> apiDefiningInterface) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Host[] hosts;
+    private final LoadBalancing strategy;
+    private final int maxConsecutiveFailures;
+    private final long maxLatencyNanos;
+    private final long ejectionNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private LoadBalancer(ClientEnvironment env) {
+        this.hosts = env.getRoots().stream().map(Host::new).toArray(Host[]::new);
+        this.strategy = env.getLoadBalancing();
+        this.maxConsecutiveFailures = env.getEjectAfterFailures();
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(env.getMaxLatencyMillis());
+        this.ejectionNanos = TimeUnit.MILLISECONDS.toNanos(env.getEjectionMillis());
+    }
+
+    /**
+     * @return Balancer of given environment, if it has more than one root.
+     */
+    static Optional<LoadBalancer> of(Class<?> apiDefiningInterface, ClientEnvironment env) {
+        return BALANCERS.get(apiDefiningInterface).computeIfAbsent(env, e -> e.getRoots().size() < 2 ? Optional.empty() : Optional.of(new LoadBalancer(e)));
+    }
+
+    List<HostStats> getStats() {
+        return Stream.of(hosts).map(host -> host.stats).collect(Collectors.collectingAndThen(Collectors.toList(), ImmutableList::copyOf));
+    }
+
+    /**
+     * Selects the root the next call is sent to and counts the call as in flight on it.
+     */
+    Host select() {
+        Host[] candidates = available(System.nanoTime());
+        Host selected;
+        switch (strategy) {
+            case LEAST_OUTSTANDING:
+                selected = leastOutstanding(candidates);
+                break;
+            case POWER_OF_TWO_CHOICES:
+                selected = powerOfTwoChoices(candidates);
+                break;
+            default:
+                selected = candidates[Math.floorMod(next.getAndIncrement(), candidates.length)];
+        }
+        selected.outstanding.incrementAndGet();
+        selected.stats.recordCall();
+        return selected;
+    }
+
+    /**
+     * @return Hosts which are not ejected, or all of them if every one is.
+     */
+    private Host[] available(long now) {
+        int count = 0;
+        for (Host host : hosts) {
+            if (host.isAvailable(now)) {
+                count++;
+            }
+        }
+        if (count == hosts.length || count == 0) {
+            return hosts;
+        }
+        Host[] available = new Host[count];
+        int i = 0;
+        for (Host host : hosts) {
+            if (host.isAvailable(now)) {
+                available[i++] = host;
+            }
+        }
+        return available;
+    }
+
+    private Host leastOutstanding(Host[] candidates) {
+        int start = Math.floorMod(next.getAndIncrement(), candidates.length);
+        Host least = candidates[start];
+        for (int i = 1; i < candidates.length; i++) {
+            Host candidate = candidates[(start + i) % candidates.length];
+            if (candidate.outstanding.get() < least.outstanding.get()) {
+                least = candidate;
+            }
+        }
+        return least;
+    }
+
+    private static Host powerOfTwoChoices(Host[] candidates) {
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.length);
+        int second = random.nextInt(candidates.length - 1);
+        if (second >= first) {
+            second++;
+        }
+        Host a = candidates[first];
+        Host b = candidates[second];
+        int outstandingA = a.outstanding.get();
+        int outstandingB = b.outstanding.get();
+        if (outstandingA != outstandingB) {
+            return outstandingA < outstandingB ? a : b;
+        }
+        return a.latencyNanos <= b.latencyNanos ? a : b;
+    }
+
+    /**
+     * Single root of the environment.
+     */
+    final class Host {
+        private final String root;
+        private final HostStats stats;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicLong ejectedUntil = new AtomicLong(System.nanoTime());
+        private volatile long latencyNanos;
+
+        private Host(String root) {
+            this.root = root;
+            this.stats = new HostStats(root);
+        }
+
+        String getRoot() {
+            return root;
+        }
+
+        private boolean isAvailable(long now) {
+            return now - ejectedUntil.get() >= 0;
+        }
+
+        /**
+         * Releases a call which received a response.
+         */
+        void completed(int statusCode, long elapsedNanos) {
+            outstanding.decrementAndGet();
+            if (statusCode >= 500) {
+                failed();
+                return;
+            }
+            consecutiveFailures.set(0);
+            // racing updates may lose a sample, which a moving average tolerates
+            long average = latencyNanos;
+            latencyNanos = average == 0 ? elapsedNanos : average + (elapsedNanos - average) / 8;
+            if (maxLatencyNanos > 0 && latencyNanos > maxLatencyNanos) {
+                eject();
+            }
+        }
+
+        /**
+         * Releases a call which did not receive a response. Cancelled calls are not held against the host.
+         */
+        void failed(Throwable failure) {
+            outstanding.decrementAndGet();
+            if (!(failure instanceof CancellationException)) {
+                failed();
+            }
+        }
+
+        private void failed() {
+            stats.recordFailure();
+            if (maxConsecutiveFailures > 0 && consecutiveFailures.incrementAndGet() >= maxConsecutiveFailures) {
+                eject();
+            }
+        }
+
+        private void eject() {
+            long now = System.nanoTime();
+            long until = ejectedUntil.get();
+            if (now - until < 0 || !ejectedUntil.compareAndSet(until, now + ejectionNanos)) {
+                return;
+            }
+            // re-admitted hosts start over
+            consecutiveFailures.set(0);
+            latencyNanos = 0;
+            stats.recordEjection();
+        }
+    }
+}
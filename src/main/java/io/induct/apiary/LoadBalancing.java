@@ -0,0 +1,23 @@
+package io.induct.apiary;
+
+/**
+ * Strategy for picking the root each call of a {@link Client.Environment#roots() multi-root environment} is sent to.
+ * Only roots which are not currently {@link HostEjection ejected} are considered.
+ *
+ * @since 18.10.2026
+ */
+public enum LoadBalancing {
+    /**
+     * Cycles through the roots in order.
+     */
+    ROUND_ROBIN,
+    /**
+     * Picks the root with the fewest calls in flight, cycling through the roots on ties.
+     */
+    LEAST_OUTSTANDING,
+    /**
+     * Picks two roots at random and uses the one with fewer calls in flight, or with lower latency on ties. Spreads
+     * load almost as evenly as {@link #LEAST_OUTSTANDING} without having every call inspect every root.
+     */
+    POWER_OF_TWO_CHOICES
+}
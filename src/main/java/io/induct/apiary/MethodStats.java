@@ -0,0 +1,127 @@
+package io.induct.apiary;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.lang.reflect.Method;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of a single API method collected by {@link CollectingApiMetrics}.
+ *
+ * @since 18.10.2026
+ */
+public final class MethodStats implements ApiMetrics.Recorder {
+
+    /**
+     * Statuses outside the valid range are counted as 0.
+     */
+    private static final int STATUSES = 600;
+
+    private final Method apiMethod;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLongArray statuses = new AtomicLongArray(STATUSES);
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final LongAdder networkNanos = new LongAdder();
+    private final LongAdder deserializationNanos = new LongAdder();
+
+    MethodStats(Method apiMethod) {
+        this.apiMethod = apiMethod;
+    }
+
+    @Override
+    public void recordResponse(int statusCode, long requestBytes, long responseBytes, long networkNanos, long deserializationNanos) {
+        latency.record(networkNanos + deserializationNanos);
+        statuses.incrementAndGet(statusCode > 0 && statusCode < STATUSES ? statusCode : 0);
+        if (requestBytes > 0) {
+            this.requestBytes.add(requestBytes);
+        }
+        if (responseBytes > 0) {
+            this.responseBytes.add(responseBytes);
+        }
+        this.networkNanos.add(networkNanos);
+        this.deserializationNanos.add(deserializationNanos);
+    }
+
+    @Override
+    public void recordFailure(Throwable failure, long elapsedNanos) {
+        latency.record(elapsedNanos);
+        failures.increment();
+    }
+
+    public Method getApiMethod() {
+        return apiMethod;
+    }
+
+    /**
+     * @return Latencies of all requests from sending them until their response was deserialized or they failed.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return Number of responses with given status.
+     */
+    public long getStatusCount(int statusCode) {
+        return statusCode > 0 && statusCode < STATUSES ? statuses.get(statusCode) : 0;
+    }
+
+    /**
+     * @return Number of responses by status, for statuses received at least once.
+     */
+    public SortedMap<Integer, Long> getStatusCounts() {
+        ImmutableSortedMap.Builder<Integer, Long> counts = ImmutableSortedMap.naturalOrder();
+        for (int status = 0; status < STATUSES; status++) {
+            long count = statuses.get(status);
+            if (count > 0) {
+                counts.put(status, count);
+            }
+        }
+        return counts.build();
+    }
+
+    /**
+     * @return Number of requests which received no response.
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * @return Total length of request bodies whose length was known up front.
+     */
+    public long getRequestBytes() {
+        return requestBytes.sum();
+    }
+
+    /**
+     * @return Total length of response bodies whose length was known up front.
+     */
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+
+    /**
+     * @return Total time requests which received a response spent waiting for it.
+     */
+    public long getNetworkNanos() {
+        return networkNanos.sum();
+    }
+
+    /**
+     * @return Total time spent deserializing responses.
+     */
+    public long getDeserializationNanos() {
+        return deserializationNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "MethodStats{apiMethod=" + apiMethod.getDeclaringClass().getSimpleName() + "." + apiMethod.getName()
+                + ", latency=" + latency + ", statuses=" + getStatusCounts() + ", failures=" + getFailureCount() + "}";
+    }
+}
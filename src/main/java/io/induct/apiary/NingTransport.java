@@ -0,0 +1,166 @@
+package io.induct.apiary;
+
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.Multimap;
+import com.ning.http.client.AsyncCompletionHandler;
+import com.ning.http.client.AsyncHttpClient;
+import com.ning.http.client.AsyncHttpClientConfig;
+import com.ning.http.client.ListenableFuture;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Natively asynchronous {@link Transport} sending requests with Ning's <code>AsyncHttpClient</code>. Bodies are
+ * buffered by Ning and parsed from its bytes without another copy.
+ *
+ * Clients declaring {@link ConnectionPool} settings get a transport of their own per distinct settings. Ning does not
+ * support HTTP/2, so only {@link ConnectionPool#maxConnections()} and {@link ConnectionPool#keepAliveMillis()} apply.
+ * Exchanges beyond the maximum connections are queued, as Ning's own per host limit would fail them instead. Keep-alive
+ * settings derive a client from the bound one with a connection pool of its own. The transport owns the clients it
+ * derives, so {@link #close() close} it once it is no longer used, while the bound client is left to its owner.
+ *
+ * @since 18.10.2026
+ */
+public final class NingTransport implements Transport, AutoCloseable {
+
+    private final AsyncHttpClient client;
+    private final boolean derived;
+    private final ExchangeLimit limit;
+    private final ConcurrentMap<ConnectionPool, NingTransport> pooled;
+
+    @Inject
+    public NingTransport(AsyncHttpClient client) {
+        this(client, false, 0, new ConcurrentHashMap<>());
+    }
+
+    private NingTransport(AsyncHttpClient client, boolean derived, int maxConnections, ConcurrentMap<ConnectionPool, NingTransport> pooled) {
+        this.client = client;
+        this.derived = derived;
+        this.limit = maxConnections > 0 ? new ExchangeLimit(maxConnections) : null;
+        this.pooled = pooled;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        CompletableFuture<TransportResponse> response = executeAsync(request);
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + request);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Failed to execute " + request, e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+        return limit != null ? limit.submit(() -> exchange(request)) : exchange(request);
+    }
+
+    private CompletableFuture<TransportResponse> exchange(TransportRequest request) {
+        CompletableFuture<TransportResponse> result = new CompletableFuture<>();
+        try {
+            AsyncHttpClient.BoundRequestBuilder ningRequest = prepare(request.getMethod(), request.getUrl());
+            for (Map.Entry<String, String> param : request.getParams().entries()) {
+                ningRequest.addQueryParam(param.getKey(), param.getValue());
+            }
+            for (Map.Entry<String, String> header : request.getHeaders().entries()) {
+                ningRequest.addHeader(header.getKey(), header.getValue());
+            }
+            if (request.hasBody()) {
+                request.body().applyTo(ningRequest);
+            }
+            ListenableFuture<Void> call = ningRequest.execute(new AsyncCompletionHandler<Void>() {
+                @Override
+                public Void onCompleted(com.ning.http.client.Response response) throws Exception {
+                    Multimap<String, String> headers = LinkedListMultimap.create();
+                    for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+                        headers.putAll(header.getKey(), header.getValue());
+                    }
+                    result.complete(TransportResponse.buffered(response.getStatusCode(), headers,
+                            response.hasResponseBody() ? response.getResponseBodyAsBytes() : null));
+                    return null;
+                }
+
+                @Override
+                public void onThrowable(Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+            result.whenComplete((response, failure) -> {
+                if (failure != null) {
+                    call.cancel(true);
+                }
+            });
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private AsyncHttpClient.BoundRequestBuilder prepare(HttpMethod method, String url) {
+        switch (method) {
+            case POST: return client.preparePost(url);
+            case PUT: return client.preparePut(url);
+            case PATCH: return client.preparePatch(url);
+            case DELETE: return client.prepareDelete(url);
+            default: return client.prepareGet(url);
+        }
+    }
+
+    @Override
+    public NingTransport configure(ConnectionPool pool) {
+        if (pool.maxConnections() == 0 && pool.keepAliveMillis() == 0) {
+            return this;
+        }
+        return pooled.computeIfAbsent(pool, p -> {
+            if (p.keepAliveMillis() == 0) {
+                return new NingTransport(client, false, p.maxConnections(), pooled);
+            }
+            AsyncHttpClientConfig.Builder config = new AsyncHttpClientConfig.Builder(client.getConfig());
+            if (p.keepAliveMillis() < 0) {
+                config.setAllowPoolingConnections(false).setAllowPoolingSslConnections(false);
+            } else {
+                config.setPooledConnectionIdleTimeout((int) Math.min(Integer.MAX_VALUE, p.keepAliveMillis()));
+            }
+            return new NingTransport(new AsyncHttpClient(config.build()), true, p.maxConnections(), pooled);
+        });
+    }
+
+    /**
+     * Closes the clients derived for {@link ConnectionPool} settings, which are derived again if the settings are
+     * configured later. The bound client is left open.
+     */
+    @Override
+    public void close() {
+        for (Iterator<NingTransport> transports = pooled.values().iterator(); transports.hasNext(); ) {
+            NingTransport transport = transports.next();
+            if (transport.derived) {
+                transports.remove();
+                transport.client.close();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "NingTransport{" + client + "}";
+    }
+}
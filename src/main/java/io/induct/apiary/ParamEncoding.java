@@ -0,0 +1,67 @@
+package io.induct.apiary;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.Set;
+
+/**
+ * How generated clients convert an argument of an API method into a parameter value. The encoding is chosen once per
+ * parameter at generation time from the declared parameter type, so that calls don't need to inspect the arguments.
+ *
+ * @since 18.10.2026
+ */
+enum ParamEncoding {
+    /**
+     * Primitive converted with <code>String.valueOf</code> without boxing.
+     */
+    PRIMITIVE,
+    /**
+     * String used as is.
+     */
+    STRING,
+    /**
+     * Boxed primitive, enum or <code>java.time</code> value converted with <code>toString()</code>.
+     */
+    TO_STRING,
+    /**
+     * {@link java.util.Optional} whose value, if present, is converted with <code>toString()</code>. Empty ones are
+     * skipped.
+     */
+    OPTIONAL,
+    /**
+     * Anything else, converted with {@link ApiClient#asString(Object)}.
+     */
+    OBJECT;
+
+    private static final Set<String> PRIMITIVES = ImmutableSet.of("boolean", "byte", "short", "char", "int", "long", "float", "double");
+
+    private static final Set<String> BOXED = ImmutableSet.of(
+            Boolean.class.getName(), Byte.class.getName(), Short.class.getName(), Character.class.getName(),
+            Integer.class.getName(), Long.class.getName(), Float.class.getName(), Double.class.getName());
+
+    static ParamEncoding of(Class<?> parameterType) {
+        return of(parameterType.getName(), parameterType.isEnum() || (!parameterType.isInterface() && TemporalAccessor.class.isAssignableFrom(parameterType)));
+    }
+
+    /**
+     * @param erasedTypeName Fully qualified name of the erased parameter type.
+     * @param convertible Whether the parameter type is known to be an enum or other value type whose
+     *                    <code>toString()</code> is its parameter value.
+     */
+    static ParamEncoding of(String erasedTypeName, boolean convertible) {
+        if (PRIMITIVES.contains(erasedTypeName)) {
+            return PRIMITIVE;
+        }
+        if (String.class.getName().equals(erasedTypeName)) {
+            return STRING;
+        }
+        if (convertible || BOXED.contains(erasedTypeName)) {
+            return TO_STRING;
+        }
+        if (java.util.Optional.class.getName().equals(erasedTypeName)) {
+            return OPTIONAL;
+        }
+        return OBJECT;
+    }
+}
@@ -0,0 +1,45 @@
+package io.induct.apiary;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Client side limits for calls of a whole {@link Client#rateLimit() client} or a single {@link Api#rateLimit() API}.
+ * When both are declared, a call has to pass both of them. All limits are disabled by default.
+ *
+ * Calls exceeding the limits either wait in a bounded queue for at most {@link #maxWaitMillis()} or, if
+ * {@link #queueDepth()} is zero, fail immediately. Calls which can't be admitted fail with
+ * {@link RateLimitExceededException}. Fresh {@link Api.Cache cached} responses are served without passing the limits,
+ * and streaming calls hold their concurrency permit only until the response has been opened.
+ *
+ * @since 18.10.2026
+ */
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+    /**
+     * Sustained number of calls per second. Zero means unlimited.
+     */
+    double requestsPerSecond() default 0;
+
+    /**
+     * Number of calls which may be made back to back before {@link #requestsPerSecond()} applies. Defaults to one.
+     */
+    int burst() default 1;
+
+    /**
+     * Maximum number of concurrent calls in flight. Zero means unlimited.
+     */
+    int maxConcurrent() default 0;
+
+    /**
+     * Maximum number of calls waiting for admission at once. Zero makes calls exceeding the limits fail immediately.
+     */
+    int queueDepth() default 0;
+
+    /**
+     * Maximum time in milliseconds a queued call waits for admission before failing.
+     */
+    long maxWaitMillis() default 1000;
+}
@@ -0,0 +1,12 @@
+package io.induct.apiary;
+
+/**
+ * Thrown when a call is rejected by a {@link RateLimit}.
+ *
+ * @since 18.10.2026
+ */
+public class RateLimitExceededException extends ApiaryException {
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,45 @@
+package io.induct.apiary;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of a single {@link RateLimit}.
+ *
+ * @since 18.10.2026
+ */
+public final class RateLimitStats {
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    void recordAdmitted(long waitedNanos) {
+        admitted.increment();
+        waitNanos.add(waitedNanos);
+    }
+
+    void recordRejected(long waitedNanos) {
+        rejected.increment();
+        waitNanos.add(waitedNanos);
+    }
+
+    public long getAdmittedCount() {
+        return admitted.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return Total time calls have spent waiting for admission, including calls eventually rejected.
+     */
+    public long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos.sum());
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimitStats{admitted=" + getAdmittedCount() + ", rejected=" + getRejectedCount() + ", totalWaitMillis=" + getTotalWaitMillis() + "}";
+    }
+}
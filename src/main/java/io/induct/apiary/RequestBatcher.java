@@ -0,0 +1,196 @@
+package io.induct.apiary;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalesces concurrent calls of a single {@link Api.Batch batched} API method into bulk requests. Calls are grouped by
+ * URL and all parameters except the batched one; a group is sent once its time window closes or it fills up.
+ *
+ * @since 18.10.2026
+ */
+final class RequestBatcher {
+
+    /**
+     * Executes a bulk request, returning its JSON array elements, or <code>null</code> if the call was unsuccessful and
+     * the API opts in to {@link Api#nullOnFailure()}.
+     */
+    interface BulkCall {
+        JsonArrayIterator<?> execute(ApiRequest request, TypeReference<?> elementType);
+    }
+
+    private static final ScheduledExecutorService WINDOWS = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("apiary-batch-%d")
+            .setDaemon(true)
+            .build());
+
+    private final ApiMethod method;
+    private final String param;
+    private final Api.Batch config;
+    private final BulkCall call;
+    private final Executor executor;
+
+    // not a monitor, which would pin the carrier of a virtual thread waiting for it
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // guarded by lock
+    private final Map<Map.Entry<String, ListMultimap<String, String>>, Batch> pending = new HashMap<>();
+
+    /**
+     * @param method Batched API method.
+     * @param call Executes the bulk requests.
+     * @param executor Executor the bulk requests are executed with.
+     */
+    RequestBatcher(ApiMethod method, BulkCall call, Executor executor) {
+        this.method = method;
+        this.param = method.getBatchParam().orElseThrow(() -> new IllegalArgumentException(method + " is not batched"));
+        this.config = method.getConfig().batch();
+        this.call = call;
+        this.executor = executor;
+    }
+
+    /**
+     * @return <code>true</code> if given request has exactly one value for the batched parameter and thus can be
+     *         batched.
+     */
+    boolean accepts(ApiRequest request) {
+        return request.getParams().get(param).size() == 1;
+    }
+
+    /**
+     * Adds the request to a pending batch.
+     *
+     * @return Future completed with this request's own element of the bulk response.
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> submit(ApiRequest request, TypeReference<T> elementType) {
+        String value = request.getParams().get(param).iterator().next();
+        ListMultimap<String, String> sharedParams = LinkedListMultimap.create(request.getParams());
+        sharedParams.removeAll(param);
+        Map.Entry<String, ListMultimap<String, String>> key = Maps.immutableEntry(request.getUrl(), ImmutableListMultimap.copyOf(sharedParams));
+
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Batch full = null;
+        lock.lock();
+        try {
+            Batch batch = pending.get(key);
+            if (batch == null) {
+                Batch opened = new Batch(request.getEnvironment(), request.getPath(), sharedParams, elementType);
+                pending.put(key, opened);
+                WINDOWS.schedule(() -> close(key, opened), config.windowMillis(), TimeUnit.MILLISECONDS);
+                batch = opened;
+            }
+            batch.waiters.computeIfAbsent(value, v -> new ArrayList<>()).add(result);
+            if (batch.waiters.size() >= config.maxSize()) {
+                pending.remove(key);
+                full = batch;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return (CompletableFuture<T>) (CompletableFuture<?>) result;
+    }
+
+    private void close(Map.Entry<String, ListMultimap<String, String>> key, Batch batch) {
+        lock.lock();
+        try {
+            if (!pending.remove(key, batch)) {
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        try {
+            executor.execute(batch::execute);
+        } catch (RejectedExecutionException e) {
+            batch.fail(e);
+        }
+    }
+
+    /**
+     * Calls waiting for the same bulk request, by distinct value of the batched parameter in request order.
+     */
+    private final class Batch {
+        private final ActiveEnvironment environment;
+        private final String path;
+        private final ListMultimap<String, String> sharedParams;
+        private final TypeReference<?> elementType;
+        private final Map<String, List<CompletableFuture<Object>>> waiters = new LinkedHashMap<>();
+
+        Batch(ActiveEnvironment environment, String path, ListMultimap<String, String> sharedParams, TypeReference<?> elementType) {
+            this.environment = environment;
+            this.path = path;
+            this.sharedParams = sharedParams;
+            this.elementType = elementType;
+        }
+
+        void execute() {
+            ApiRequest request = new ApiRequest(method, environment, path);
+            sharedParams.entries().forEach(shared -> request.param(shared.getKey(), shared.getValue()));
+            if (config.separator().isEmpty()) {
+                waiters.keySet().forEach(value -> request.param(param, value));
+            } else {
+                request.param(param, String.join(config.separator(), waiters.keySet()));
+            }
+
+            JsonArrayIterator<?> elements = null;
+            try {
+                elements = call.execute(request, elementType);
+                for (Map.Entry<String, List<CompletableFuture<Object>>> waiter : waiters.entrySet()) {
+                    if (elements == null) {
+                        complete(waiter.getValue(), null);
+                    } else if (elements.hasNext()) {
+                        complete(waiter.getValue(), elements.next());
+                    } else {
+                        ApiaryException missing = new ApiaryException("Bulk response of " + method + " has no element for " + param + "=" + waiter.getKey());
+                        waiter.getValue().forEach(waiting -> waiting.completeExceptionally(missing));
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                fail(e);
+            } finally {
+                if (elements != null) {
+                    elements.close();
+                }
+            }
+        }
+
+        /**
+         * Completes all calls which have not been completed yet exceptionally.
+         */
+        void fail(Throwable failure) {
+            waiters.values().stream()
+                    .flatMap(Collection::stream)
+                    .forEach(waiter -> waiter.completeExceptionally(failure));
+        }
+
+        private void complete(List<CompletableFuture<Object>> calls, Object element) {
+            calls.forEach(waiting -> waiting.complete(element));
+        }
+    }
+}
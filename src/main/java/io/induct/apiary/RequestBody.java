@@ -0,0 +1,157 @@
+package io.induct.apiary;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.ning.http.client.AsyncHttpClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * {@link Body} of an {@link ApiRequest} resolved for sending. Raw bodies are passed through to the HTTP client as is.
+ * Other bodies are serialized once with Jackson, as JSON or in the {@link DataFormat} of the API, into a buffer
+ * recycled by the serializing thread and copied out once into an array of the exact size, which is then handed to
+ * the HTTP client without further copies or an intermediate <code>String</code>.
+ *
+ * @since 18.10.2026
+ */
+final class RequestBody {
+
+    static final String JSON = "application/json";
+    static final String OCTET_STREAM = "application/octet-stream";
+
+    /**
+     * Recyclers of the buffers bodies are serialized into, per serializing thread. Virtual threads live for a single
+     * call, so they serialize into new buffers instead of each keeping a recycler.
+     */
+    private static final ThreadLocal<BufferRecycler> RECYCLERS = ThreadLocal.withInitial(BufferRecycler::new);
+
+    private final Object raw;
+    private final byte[] bytes;
+    private final int length;
+    private final String contentType;
+
+    private RequestBody(Object raw, byte[] bytes, int length, String contentType) {
+        this.raw = raw;
+        this.bytes = bytes;
+        this.length = length;
+        this.contentType = contentType;
+    }
+
+    /**
+     * @return Resolved body, or <code>null</code> if there is none.
+     */
+    static RequestBody of(Object body, ObjectMapper objectMapper) {
+        return of(body, objectMapper, null);
+    }
+
+    /**
+     * @param format Format other than raw bodies are serialized to, or <code>null</code> for JSON.
+     * @return Resolved body, or <code>null</code> if there is none.
+     */
+    static RequestBody of(Object body, ObjectMapper objectMapper, DataFormat format) {
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[]) {
+            return new RequestBody(null, (byte[]) body, ((byte[]) body).length, OCTET_STREAM);
+        }
+        if (body instanceof InputStream || body instanceof ByteBuffer || body instanceof File || body instanceof Path) {
+            return new RequestBody(body, null, -1, OCTET_STREAM);
+        }
+        ByteArrayBuilder serialized = new ByteArrayBuilder(VirtualThreads.isVirtual() ? null : RECYCLERS.get());
+        byte[] bytes;
+        try {
+            if (format == null) {
+                objectMapper.writeValue(serialized, body);
+            } else {
+                try (JsonGenerator generator = format.getFactory().createGenerator(serialized)) {
+                    objectMapper.writeValue(generator, body);
+                }
+            }
+            bytes = serialized.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize request body", e);
+        } finally {
+            serialized.release();
+        }
+        return new RequestBody(null, bytes, bytes.length, format != null ? format.getMediaType() : JSON);
+    }
+
+    /**
+     * @return Length of the body, or <code>-1</code> for raw bodies whose length isn't known up front.
+     */
+    int getLength() {
+        return length;
+    }
+
+    String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return Bytes of the body, or <code>null</code> for raw bodies other than byte arrays.
+     */
+    byte[] array() {
+        return bytes;
+    }
+
+    /**
+     * @return File of a raw file body, or <code>null</code> for other bodies.
+     */
+    Path file() {
+        if (raw instanceof File) {
+            return ((File) raw).toPath();
+        }
+        return raw instanceof Path ? (Path) raw : null;
+    }
+
+    /**
+     * @return Body as a stream for the blocking <code>HttpClient</code>.
+     */
+    InputStream openStream() {
+        if (bytes != null) {
+            return new ByteArrayInputStream(bytes, 0, length);
+        }
+        try {
+            if (raw instanceof ByteBuffer) {
+                return new ByteBufferBackedInputStream(((ByteBuffer) raw).duplicate());
+            }
+            if (raw instanceof File) {
+                return new FileInputStream((File) raw);
+            }
+            if (raw instanceof Path) {
+                return Files.newInputStream((Path) raw);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open request body", e);
+        }
+        return (InputStream) raw;
+    }
+
+    /**
+     * Sets the body to a request of the asynchronous HTTP client. Files are sent with Ning's own file support, which
+     * avoids copying them through the heap where the transport allows it.
+     */
+    void applyTo(AsyncHttpClient.BoundRequestBuilder request) {
+        if (raw instanceof File) {
+            request.setBody((File) raw);
+        } else if (raw instanceof Path) {
+            request.setBody(((Path) raw).toFile());
+        } else if (bytes != null) {
+            request.setBody(bytes);
+        } else {
+            request.setBody(openStream());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package io.induct.apiary;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.base.Optional;
+import com.google.common.collect.Multimap;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Body of a received response resolved for deserialization. Bodies the HTTP client has already buffered are parsed
+ * straight from their byte array and streamed ones are handed to Jackson as is, so neither is copied into another
+ * buffer first. Bodies with a <code>gzip</code> or <code>deflate</code> <code>Content-Encoding</code> are decompressed
+ * while they are parsed.
+ *
+ * Bodies which must be held in full, such as those of cacheable responses, are read into a buffer recycled by the
+ * reading thread instead of a new one per response.
+ *
+ * @since 18.10.2026
+ */
+final class ResponseBody {
+
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+
+    /**
+     * Largest buffer kept for reuse by a thread, so that a single huge response doesn't pin its buffer for good.
+     */
+    private static final int MAX_RECYCLED_BUFFER = 256 * 1024;
+
+    private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[8192]);
+
+    private final byte[] bytes;
+    private final int length;
+    private final InputStream stream;
+    private final String encoding;
+
+    private ResponseBody(byte[] bytes, int length, InputStream stream, String encoding) {
+        this.bytes = bytes;
+        this.length = length;
+        this.stream = stream;
+        this.encoding = encoding;
+    }
+
+    /**
+     * @return Streamed body, unless it is empty.
+     */
+    static Optional<ResponseBody> of(Optional<InputStream> body, Multimap<String, String> headers) throws IOException {
+        if (!body.isPresent()) {
+            return Optional.absent();
+        }
+        PushbackInputStream content = new PushbackInputStream(body.get());
+        int first = content.read();
+        if (first < 0) {
+            return Optional.absent();
+        }
+        content.unread(first);
+        return Optional.of(new ResponseBody(null, -1, content, encodingOf(headers)));
+    }
+
+    /**
+     * @return Body buffered by the HTTP client, unless it is empty.
+     */
+    static Optional<ResponseBody> of(byte[] body, Multimap<String, String> headers) {
+        return body.length > 0 ? Optional.of(new ResponseBody(body, body.length, null, encodingOf(headers))) : Optional.absent();
+    }
+
+    /**
+     * @return Decoded body held in full, eg. one read from the {@link ResponseCache}.
+     */
+    static ResponseBody of(byte[] body) {
+        return new ResponseBody(body, body.length, null, null);
+    }
+
+    private static String encodingOf(Multimap<String, String> headers) {
+        return CacheHeaders.header(headers, CONTENT_ENCODING)
+                .map(encoding -> encoding.trim().toLowerCase())
+                .filter(encoding -> !encoding.isEmpty() && !encoding.equals("identity"))
+                .orElse(null);
+    }
+
+    <T> T read(ObjectReader reader) throws IOException {
+        if (bytes != null && encoding == null) {
+            return reader.readValue(bytes, 0, length);
+        }
+        return reader.readValue(openStream());
+    }
+
+    /**
+     * @return Decoded body as a stream, which can be opened only once for streamed bodies.
+     */
+    InputStream openStream() throws IOException {
+        InputStream raw = bytes != null ? new ByteArrayInputStream(bytes, 0, length) : stream;
+        if (encoding == null) {
+            return raw;
+        }
+        switch (encoding) {
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(raw);
+            case "deflate":
+                return new InflaterInputStream(raw);
+            default:
+                throw new IOException("Unsupported " + CONTENT_ENCODING + " " + encoding);
+        }
+    }
+
+    /**
+     * Reads the whole decoded body into the recycled buffer of the calling thread. The returned body must be consumed
+     * before the thread reads another one. Virtual threads live for a single call, so they get a new buffer instead of
+     * each keeping one.
+     */
+    ResponseBody buffered() throws IOException {
+        if (bytes != null && encoding == null) {
+            return this;
+        }
+        boolean recycled = !VirtualThreads.isVirtual();
+        byte[] buffer = recycled ? BUFFERS.get() : new byte[8192];
+        int count = 0;
+        try (InputStream content = openStream()) {
+            int read;
+            while ((read = content.read(buffer, count, buffer.length - count)) >= 0) {
+                count += read;
+                if (count == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+        }
+        if (recycled && buffer.length <= MAX_RECYCLED_BUFFER) {
+            BUFFERS.set(buffer);
+        }
+        return new ResponseBody(buffer, count, null, null);
+    }
+
+    int length() {
+        return length;
+    }
+
+    /**
+     * @return Copy of a {@link #buffered()} body which may outlive the buffer.
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, length);
+    }
+}
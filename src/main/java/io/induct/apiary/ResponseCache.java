@@ -0,0 +1,26 @@
+package io.induct.apiary;
+
+import com.google.inject.ImplementedBy;
+
+/**
+ * Storage for responses of {@link Api.Cache cached} API methods, shared by all generated clients of an injector.
+ * Freshness and revalidation are handled by {@link ApiClient}; implementations only need to store entries and decide
+ * which ones to evict.
+ *
+ * @since 18.10.2026
+ */
+@ImplementedBy(BoundedResponseCache.class)
+public interface ResponseCache {
+
+    /**
+     * @return Entry stored with given key, or <code>null</code> if there is none. Stale entries may be returned.
+     */
+    CachedResponse get(String key);
+
+    void put(String key, CachedResponse response);
+
+    /**
+     * @return Hit and miss counters of this cache.
+     */
+    ResponseCacheStats getStats();
+}
@@ -0,0 +1,44 @@
+package io.induct.apiary;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of a {@link ResponseCache}. Fresh hits are served without any request, revalidated hits are confirmed with
+ * a conditional request which didn't transfer the body again, and misses download and deserialize the full response.
+ *
+ * @since 18.10.2026
+ */
+public final class ResponseCacheStats {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordRevalidation() {
+        revalidations.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getRevalidationCount() {
+        return revalidations.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCacheStats{hits=" + getHitCount() + ", revalidations=" + getRevalidationCount() + ", misses=" + getMissCount() + "}";
+    }
+}
@@ -0,0 +1,98 @@
+package io.induct.apiary;
+
+import com.google.common.base.Charsets;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.induct.apiary.ClientDefinitions.*;
+import static io.induct.apiary.ClientSourceTemplate.MethodModel;
+import static io.induct.apiary.ClientSourceTemplate.ParamModel;
+
+/**
+ * Reference {@link ClientGenerator} which renders the client as Java source and compiles it in memory with the system
+ * {@link JavaCompiler}. Requires a JDK at runtime.
+ *
+ * @since 18.10.2026
+ */
+public class SourceClientGenerator implements ClientGenerator {
+
+    @Override
+    public GeneratedClient generate(Class<?> apiDefiningInterface, String targetFqn) {
+        int split = targetFqn.lastIndexOf('.');
+        String targetPackageName = targetFqn.substring(0, split);
+        String targetClassName = targetFqn.substring(split + 1);
+
+        String classSource = generateClassSource(apiDefiningInterface, targetPackageName, targetClassName);
+        return new GeneratedClient(targetFqn, compile(targetFqn, classSource), Optional.of(classSource));
+    }
+
+    private Map<String, byte[]> compile(String targetFqn, String classSource) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new ClientCompilationException("No system Java compiler available, make sure Apiary is run on a JDK or use " + BytecodeClientGenerator.class.getSimpleName());
+        }
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (InMemoryFileManager fileManager = new InMemoryFileManager(compiler.getStandardFileManager(diagnostics, null, Charsets.UTF_8))) {
+            Iterable<String> compilerOptions = Arrays.asList(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-parameters",
+                    "-proc:none");
+            List<JavaFileObject> javaFo = Collections.singletonList(new InMemoryFileManager.Source(targetFqn, classSource));
+
+            if (compiler.getTask(null, fileManager, diagnostics, compilerOptions, null, javaFo).call()
+                && diagnostics.getDiagnostics().isEmpty()) {
+                return fileManager.getClasses();
+            } else {
+                throw new ClientCompilationException("Compilation of " + targetFqn + " failed", diagnostics.getDiagnostics());
+            }
+        } catch (IOException e) {
+            throw new ClientCompilationException("Failed to compile source of " + targetFqn, e);
+        }
+    }
+
+    private String generateClassSource(
+        Class<?> apiDefiningInterface,
+        String targetPackageName,
+        String targetClassName) {
+        Client clientConfig = apiDefiningInterface.getDeclaredAnnotation(Client.class);
+
+        findApiMethods(apiDefiningInterface).forEach(methodRef -> {
+            pathVariables(methodRef);
+            bodyParam(methodRef);
+        });
+        List<MethodModel> apiMethods = findApiMethods(apiDefiningInterface)
+                .map(methodRef -> new MethodModel(
+                        methodRef.getName(),
+                        sourceName(methodRef.getGenericReturnType()),
+                        CallMode.of(methodRef.getReturnType()),
+                        sourceName(responseType(methodRef)),
+                        methodRef.getAnnotation(Api.class).path(),
+                        Stream.of(methodRef.getParameters())
+                                .map(param -> new ParamModel(
+                                        param.getType().getCanonicalName(),
+                                        param.getName(),
+                                        apiParamName(clientConfig.paramFormat(), param.getName()),
+                                        ParamEncoding.of(param.getType()),
+                                        param.isAnnotationPresent(Body.class)))
+                                .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+
+        return new ClientSourceTemplate(
+                targetPackageName,
+                targetClassName,
+                apiDefiningInterface.getCanonicalName(),
+                apiDefiningInterface.getSimpleName(),
+                apiMethods).render();
+    }
+}
@@ -0,0 +1,63 @@
+package io.induct.apiary;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends the requests of generated clients over HTTP. Bind an implementation to choose the HTTP client all clients of
+ * an injector use, eg. {@link JdkHttpTransport} for HTTP/2. If none is bound, requests are sent with the bound
+ * <code>io.induct.http.HttpClient</code>, and asynchronous ones with the bound <code>AsyncHttpClient</code> if there is
+ * one.
+ *
+ * Implementations must be thread safe.
+ *
+ * @since 18.10.2026
+ */
+public interface Transport {
+
+    /**
+     * Sends the request and waits for the response status and headers. The body may still be streamed once this
+     * returns.
+     *
+     * @return Response, which the caller closes.
+     */
+    TransportResponse execute(TransportRequest request) throws IOException;
+
+    /**
+     * Sends the request without blocking the calling thread. Completing the returned future before the response has
+     * been received, eg. by cancelling it, should abort the request.
+     *
+     * Blocking transports send the request on a shared pool of threads, virtual ones where supported.
+     *
+     * @return Future completed with the response, which the caller closes.
+     */
+    default CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+        CompletableFuture<TransportResponse> result = new CompletableFuture<>();
+        BlockingCalls.EXECUTOR.execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                TransportResponse response = execute(request);
+                if (!result.complete(response)) {
+                    // abandoned while in flight
+                    response.close();
+                }
+            } catch (IOException | RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Called once per client with the {@link Client#pool() connection settings} of its API defining interface.
+     * Transports should return the same instance for equal settings, as clients are created far more often than
+     * their settings change.
+     *
+     * @return Transport the client sends its requests with, this one by default.
+     */
+    default Transport configure(ConnectionPool pool) {
+        return this;
+    }
+}
@@ -0,0 +1,134 @@
+package io.induct.apiary;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.util.Map;
+
+/**
+ * Request of a generated client resolved for a {@link Transport}: the root of the environment has been chosen, its
+ * interceptors have run and its body has been serialized.
+ *
+ * @since 18.10.2026
+ */
+public final class TransportRequest {
+
+    static final String CONTENT_TYPE = "Content-Type";
+    static final String ACCEPT = "Accept";
+
+    private final HttpMethod method;
+    private final String url;
+    private final Multimap<String, String> params;
+    private final Multimap<String, String> headers;
+    private final RequestBody body;
+
+    TransportRequest(HttpMethod method, String url, Multimap<String, String> params, Multimap<String, String> headers, RequestBody body) {
+        this(method, url, params, headers, null, body);
+    }
+
+    /**
+     * @param accept <code>Accept</code> header sent unless the request has one, or <code>null</code> if none.
+     */
+    TransportRequest(HttpMethod method, String url, Multimap<String, String> params, Multimap<String, String> headers, String accept, RequestBody body) {
+        this.method = method;
+        this.url = url;
+        this.params = params;
+        boolean addAccept = accept != null && !CacheHeaders.header(headers, ACCEPT).isPresent();
+        boolean addContentType = body != null && !CacheHeaders.header(headers, CONTENT_TYPE).isPresent();
+        if (addAccept || addContentType) {
+            Multimap<String, String> withDefaults = LinkedListMultimap.create(headers);
+            if (addAccept) {
+                withDefaults.put(ACCEPT, accept);
+            }
+            if (addContentType) {
+                withDefaults.put(CONTENT_TYPE, body.getContentType());
+            }
+            headers = Multimaps.unmodifiableMultimap(withDefaults);
+        }
+        this.headers = headers;
+        this.body = body;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * @return URL without the query parameters.
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return Query parameters, not encoded.
+     */
+    public Multimap<String, String> getParams() {
+        return params;
+    }
+
+    /**
+     * @return URL with the query parameters encoded as UTF-8.
+     */
+    public URI getUri() {
+        if (params.isEmpty()) {
+            return URI.create(url);
+        }
+        StringBuilder uri = new StringBuilder(url).append(url.indexOf('?') < 0 ? '?' : '&');
+        for (Map.Entry<String, String> param : params.entries()) {
+            uri.append(encode(param.getKey())).append('=').append(encode(param.getValue())).append('&');
+        }
+        return URI.create(uri.substring(0, uri.length() - 1));
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, Charsets.UTF_8.name()).replace("+", "%20");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return Headers, including the <code>Content-Type</code> of the body if the request did not set one.
+     */
+    public Multimap<String, String> getHeaders() {
+        return headers;
+    }
+
+    public boolean hasBody() {
+        return body != null;
+    }
+
+    /**
+     * @return Length of the body, or <code>-1</code> if there is none or its length isn't known up front.
+     */
+    public long getContentLength() {
+        return body != null ? body.getLength() : -1;
+    }
+
+    /**
+     * @return Body as a new stream, or <code>null</code> if there is none.
+     */
+    public InputStream openBody() {
+        return body != null ? body.openStream() : null;
+    }
+
+    /**
+     * @return Resolved body for the built-in transports, which send serialized bodies without copying them.
+     */
+    RequestBody body() {
+        return body;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + url;
+    }
+}
@@ -0,0 +1,87 @@
+package io.induct.apiary;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Multimap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Response received by a {@link Transport}, with its body either buffered by the HTTP client or streamed. Closing the
+ * response releases its connection.
+ *
+ * @since 18.10.2026
+ */
+public final class TransportResponse implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TransportResponse.class);
+
+    private final int statusCode;
+    private final Multimap<String, String> headers;
+    private final InputStream stream;
+    private final byte[] bytes;
+    private final AutoCloseable resource;
+
+    private TransportResponse(int statusCode, Multimap<String, String> headers, InputStream stream, byte[] bytes, AutoCloseable resource) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.stream = stream;
+        this.bytes = bytes;
+        this.resource = resource;
+    }
+
+    /**
+     * @param body Body to be streamed, or <code>null</code> if there is none. Closed with the response.
+     */
+    public static TransportResponse streamed(int statusCode, Multimap<String, String> headers, InputStream body) {
+        return new TransportResponse(statusCode, headers, body, null, body);
+    }
+
+    /**
+     * @param body Body to be streamed, or <code>null</code> if there is none.
+     * @param resource Released when the response is closed, eg. the response of the underlying HTTP client.
+     */
+    public static TransportResponse streamed(int statusCode, Multimap<String, String> headers, InputStream body, AutoCloseable resource) {
+        return new TransportResponse(statusCode, headers, body, null, resource);
+    }
+
+    /**
+     * @param body Body buffered by the HTTP client, or <code>null</code> if there is none. Parsed as is, without
+     *             copying it.
+     */
+    public static TransportResponse buffered(int statusCode, Multimap<String, String> headers, byte[] body) {
+        return new TransportResponse(statusCode, headers, null, body, null);
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public Multimap<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return Body for deserialization, unless it is empty.
+     */
+    Optional<ResponseBody> body() throws IOException {
+        if (bytes != null) {
+            return ResponseBody.of(bytes, headers);
+        }
+        return ResponseBody.of(Optional.fromNullable(stream), headers);
+    }
+
+    @Override
+    public void close() {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        } catch (Exception e) {
+            log.debug("Failed to close response", e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.induct.apiary;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.escape.Escaper;
+import com.google.common.net.UrlEscapers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precompiled URL or path with path variables, eg. <code>/items/{id}</code>. Generated clients compile the paths of
+ * their APIs once, so expanding a path only appends the constant parts and the escaped variable values.
+ *
+ * @since 18.10.2026
+ */
+public final class UrlTemplate {
+
+    private static final Escaper PATH_SEGMENT = UrlEscapers.urlPathSegmentEscaper();
+
+    private final String[] literals;
+    private final List<String> variables;
+    private final int literalLength;
+
+    private UrlTemplate(String[] literals, List<String> variables) {
+        this.literals = literals;
+        this.variables = ImmutableList.copyOf(variables);
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the template has unbalanced braces or empty variable names.
+     */
+    public static UrlTemplate compile(String url) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = url.indexOf('{', position);
+            if (open < 0) {
+                literals.add(url.substring(position));
+                break;
+            }
+            int close = url.indexOf('}', open);
+            if (close < 0 || close == open + 1) {
+                throw new IllegalArgumentException("Malformed path variable in " + url);
+            }
+            literals.add(url.substring(position, open));
+            variables.add(url.substring(open + 1, close));
+            position = close + 1;
+        }
+        if (literals.stream().anyMatch(literal -> literal.indexOf('}') >= 0)) {
+            throw new IllegalArgumentException("Malformed path variable in " + url);
+        }
+        return new UrlTemplate(literals.toArray(new String[literals.size()]), variables);
+    }
+
+    /**
+     * @return Names of the path variables in order of appearance.
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * @param values Values of the path variables in order of appearance, escaped as path segments.
+     */
+    public String expand(String... values) {
+        if (values.length != variables.size()) {
+            throw new IllegalArgumentException("Expected " + variables.size() + " path variables, got " + values.length);
+        }
+        StringBuilder url = new StringBuilder(literalLength + 16 * values.length).append(literals[0]);
+        for (int i = 0; i < values.length; i++) {
+            url.append(PATH_SEGMENT.escape(values[i])).append(literals[i + 1]);
+        }
+        return url.toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder template = new StringBuilder(literals[0]);
+        for (int i = 0; i < variables.size(); i++) {
+            template.append('{').append(variables.get(i)).append('}').append(literals[i + 1]);
+        }
+        return template.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package io.induct.apiary;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads on JDKs which have them. Apiary targets Java 8, so they are resolved reflectively and
+ * executors fall back to cached pools of daemon platform threads elsewhere.
+ *
+ * @since 18.10.2026
+ */
+final class VirtualThreads {
+
+    private static final MethodHandle IS_VIRTUAL = resolveIsVirtual();
+
+    private static final boolean SUPPORTED = IS_VIRTUAL != null && virtualThreadFactory("apiary-probe-") != null;
+
+    private VirtualThreads() {
+    }
+
+    private static MethodHandle resolveIsVirtual() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return Factory of virtual threads named with given prefix and a counter, or <code>null</code> if they are not
+     *         available, eg. when they are a preview feature which isn't enabled.
+     */
+    private static ThreadFactory virtualThreadFactory(String namePrefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * @return <code>true</code> if the calling thread is virtual.
+     */
+    static boolean isVirtual() {
+        if (!SUPPORTED) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return Executor starting a new virtual thread per task, or a cached pool of daemon threads if virtual threads
+     *         are not supported.
+     */
+    static ExecutorService newExecutor(String namePrefix) {
+        ThreadFactory factory = SUPPORTED ? virtualThreadFactory(namePrefix) : null;
+        if (factory != null) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+            } catch (ReflectiveOperationException e) {
+                // fall through to platform threads
+            }
+        }
+        return Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                .setNameFormat(namePrefix + "%d")
+                .setDaemon(true)
+                .build());
+    }
+}
@@ -1,15 +1,23 @@
 package io.induct.apiary;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.google.common.collect.ImmutableMultimap;
 import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Names;
 import com.ning.http.client.AsyncHttpClient;
+import io.induct.apiary.nasa.ApodError;
 import io.induct.apiary.nasa.ApodImage;
+import io.induct.apiary.nasa.DemoKeyInterceptor;
 import io.induct.apiary.nasa.NASA;
+import io.induct.apiary.nasa.NasaApodMockApi;
 import io.induct.daniel.ioc.guice.DanielModule;
 import io.induct.http.HttpClient;
 import io.induct.http.ning.NingHttpClient;
@@ -17,11 +25,39 @@ import org.junit.*;
 import org.junit.rules.TemporaryFolder;
 import org.junit.rules.TestName;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @since 1.1.2016
@@ -49,6 +85,7 @@ public class ApiaryTest {
 
     private Injector injector;
     private AsyncHttpClient ningClient;
+    private final CountingJsonFactory apodFormat = new CountingJsonFactory();
 
     @Before
     public void setUp() throws Exception {
@@ -58,9 +95,12 @@ public class ApiaryTest {
             @Override
             protected void configure() {
                 bind(HttpClient.class).toInstance(new NingHttpClient(ningClient));
+                bind(AsyncHttpClient.class).toInstance(ningClient);
                 bind(Apiary.class);
+                bind(ApiMetrics.class).to(CollectingApiMetrics.class);
                 Multibinder<Module> jacksonModules = Multibinder.newSetBinder(binder(), Module.class);
                 jacksonModules.addBinding().toInstance(new ParameterNamesModule());
+                Multibinder.newSetBinder(binder(), DataFormat.class).addBinding().toInstance(DataFormat.of(NASA.APOD_JSON, apodFormat));
                 try {
                     File testDir = temp.newFolder("ApiaryTest", name.getMethodName());
                     bind(String.class).annotatedWith(Names.named(Apiary.GENERATED_DIR_KEY)).toInstance(testDir.toString());
@@ -73,6 +113,9 @@ public class ApiaryTest {
 
     @After
     public void tearDown() throws Exception {
+        if (injector != null) {
+            injector.getInstance(Apiary.class).close();
+        }
         if (ningClient != null) {
             ningClient.close();
         }
@@ -88,4 +131,422 @@ public class ApiaryTest {
         // TODO: Could assert this further
         assertNotNull(apod);
     }
+
+    @Test
+    public void interceptsCallsOfDeclaringApis() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        DemoKeyInterceptor interceptor = injector.getInstance(DemoKeyInterceptor.class);
+        int successes = interceptor.getSuccesses();
+        assertNotNull(nasaClient.authenticatedApod());
+        assertNotNull(nasaClient.authenticatedApod());
+        nasaClient.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY");
+        assertEquals(successes + 2, interceptor.getSuccesses());
+    }
+
+    @Test
+    public void keysCachedCallsByOverload() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        ApodImage apod = nasaClient.sharedApod("DEMO_KEY");
+        Map<String, Object> json = nasaClient.sharedApod(Optional.of("DEMO_KEY"));
+        assertEquals(apod.getTitle(), json.get("title"));
+    }
+
+    @Test
+    public void keysCachedCallsByInterceptedRequest() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        DemoKeyInterceptor interceptor = injector.getInstance(DemoKeyInterceptor.class);
+        assertNotNull(nasaClient.cachedAuthenticatedApod());
+        interceptor.setApiKey("NOT_DEMO_KEY");
+        try {
+            nasaClient.cachedAuthenticatedApod();
+            fail("Response cached for another key should not be served");
+        } catch (ApiCallException e) {
+            assertEquals(400, e.getStatusCode());
+        } finally {
+            interceptor.setApiKey("DEMO_KEY");
+        }
+    }
+
+    @Test
+    public void recordsMetricsOfApiMethods() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        MethodStats stats = injector.getInstance(CollectingApiMetrics.class)
+                .getStats(NASA.class.getMethod("apod", Optional.class, Optional.class, Optional.class, String.class))
+                .get();
+        long successes = stats.getStatusCount(200);
+        nasaClient.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY");
+        nasaClient.apodAsync(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY").get(5, TimeUnit.SECONDS);
+        assertEquals(successes + 1, stats.getStatusCount(200));
+        assertEquals(successes + 1, stats.getLatency().getCount());
+        assertTrue(stats.getResponseBytes() > 0);
+    }
+
+    @Test(timeout = 10000)
+    public void fansOutBlockingCallsInScopes() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        try (CallScope scope = apiary.openScope()) {
+            List<CompletableFuture<ApodImage>> apods = Stream.generate(() -> scope.fork(() -> nasaClient.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY")))
+                    .limit(10)
+                    .collect(Collectors.toList());
+            scope.join();
+            apods.forEach(apod -> assertNotNull(apod.join()));
+        }
+
+        CompletableFuture<ApodImage> slow = null;
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (CallScope scope = apiary.openScope()) {
+            slow = scope.fork(() -> {
+                try {
+                    // blocks until the failure of the other call cancels this one
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return nasaClient.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY");
+            });
+            scope.fork(() -> {
+                throw new IllegalStateException("failed");
+            });
+            scope.join();
+            fail("Failure of a forked call should be thrown");
+        } catch (IllegalStateException e) {
+            assertEquals("failed", e.getMessage());
+        }
+        assertTrue(slow.isCancelled());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void expandsPathVariables() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        assertEquals(nasaClient.apodOf("2016-01-01", "DEMO_KEY"), nasaClient.apodOn(LocalDate.of(2016, 1, 1), "DEMO_KEY"));
+        assertNotEquals(nasaClient.apodOn(LocalDate.of(2016, 1, 1), "DEMO_KEY"), nasaClient.apodOn(LocalDate.of(2016, 1, 2), "DEMO_KEY"));
+    }
+
+    @Test
+    public void returnsResponsesWithErrorBodies() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        ApiResponse<ApodImage> success = nasaClient.apodResponse("DEMO_KEY");
+        assertEquals(200, success.getStatusCode());
+        assertEquals(nasaClient.strictApod("DEMO_KEY"), success.getBody().get());
+
+        ApiResponse<ApodImage> failure = nasaClient.apodResponse("NOT_DEMO_KEY");
+        assertEquals(400, failure.getStatusCode());
+        assertFalse(failure.isRetryable());
+        assertFalse(failure.getBody().isPresent());
+        assertEquals(new ApodError("You must define api_key=DEMO_KEY as parameter"), failure.getError(ApodError.class).get());
+        try {
+            nasaClient.strictApod("NOT_DEMO_KEY");
+            fail("Unsuccessful call should throw when the API declares an error type");
+        } catch (ApiCallException e) {
+            assertEquals(400, e.getStatusCode());
+            assertEquals(failure.getError(ApodError.class), e.getResponse().getError(ApodError.class));
+        }
+        assertNull(nasaClient.lenientApod("NOT_DEMO_KEY"));
+    }
+
+    @Test
+    public void retriesHedgesAndTimesOutCalls() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        ApodImage apod = nasaClient.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY");
+
+        CallPolicyStats retries = apiary.getCallPolicyStats(NASA.class.getMethod("retriedApod", String.class, String.class)).get();
+        long retriesBefore = retries.getRetryCount();
+        assertEquals(apod, nasaClient.retriedApod(name.getMethodName(), "DEMO_KEY"));
+        assertEquals(1, retries.getRetryCount() - retriesBefore);
+
+        CallPolicyStats hedges = apiary.getCallPolicyStats(NASA.class.getMethod("hedgedApod", String.class, String.class)).get();
+        long hedgeWinsBefore = hedges.getHedgeWinCount();
+        assertEquals(apod, nasaClient.hedgedApod(name.getMethodName(), "DEMO_KEY"));
+        assertEquals(1, hedges.getHedgeWinCount() - hedgeWinsBefore);
+
+        try {
+            nasaClient.deadlinedApod(1000, "DEMO_KEY");
+            fail("Call exceeding its deadline should time out");
+        } catch (CallTimeoutException expected) {
+        }
+        assertEquals(apod, nasaClient.deadlinedApod(0, "DEMO_KEY"));
+    }
+
+    @Test
+    public void ejectsFailingRootsOfReplicatedEnvironments() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "replicated");
+        int failures = 0;
+        for (int i = 0; i < 4; i++) {
+            try {
+                assertNotNull(nasaClient.apodOf("2016-01-01", "DEMO_KEY"));
+            } catch (RuntimeException e) {
+                failures++;
+            }
+        }
+        List<HostStats> hosts = apiary.getHostStats(NASA.class, "replicated");
+        assertEquals(1, failures);
+        assertEquals(1, hosts.get(0).getEjectionCount());
+        assertEquals(3, hosts.get(1).getCallCount());
+        assertTrue(apiary.getHostStats(NASA.class, "local").isEmpty());
+    }
+
+    @Test
+    public void sendsRequestBodies() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        ApodImage apod = nasaClient.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY");
+        assertEquals(apod, nasaClient.uploadApod(apod, "DEMO_KEY"));
+        byte[] json = injector.getInstance(ObjectMapper.class).writeValueAsBytes(apod);
+        assertEquals(apod, nasaClient.uploadApodAsync(json, "DEMO_KEY").get(5, TimeUnit.SECONDS));
+        assertEquals(apod, nasaClient.patchApod(new ByteArrayInputStream(json), "DEMO_KEY"));
+    }
+
+    @Test
+    public void negotiatesDataFormats() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        ApodImage apod = nasaClient.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY");
+        assertEquals(0, apodFormat.parsers.get());
+        assertEquals(apod, nasaClient.negotiatedApod("DEMO_KEY"));
+        assertEquals(1, apodFormat.parsers.get());
+        assertEquals(apod, nasaClient.uploadNegotiatedApod(apod, "DEMO_KEY"));
+        assertEquals(1, apodFormat.generators.get());
+        assertEquals(2, apodFormat.parsers.get());
+    }
+
+    @Test
+    public void callsAsynchronousApisWithoutBlocking() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        CompletableFuture<ApodImage> apod = nasaClient.apodAsync(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY");
+        assertEquals(nasaClient.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY"), apod.get(5, TimeUnit.SECONDS));
+        try {
+            nasaClient.apodAsync(Optional.empty(), Optional.empty(), Optional.empty(), "NOT_DEMO_KEY").get(5, TimeUnit.SECONDS);
+            fail("Unsuccessful call should complete exceptionally");
+        } catch (ExecutionException e) {
+            ApiCallException failure = (ApiCallException) e.getCause();
+            assertEquals(400, failure.getStatusCode());
+            assertFalse(failure.getHeaders().isEmpty());
+        }
+    }
+
+    @Test
+    public void streamsArrayResponsesElementByElement() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        ApodImage apod = nasaClient.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY");
+        try (Stream<ApodImage> apods = nasaClient.randomApods(3, "DEMO_KEY")) {
+            assertEquals(Collections.nCopies(3, apod), apods.collect(Collectors.toList()));
+        }
+        Iterator<ApodImage> apods = nasaClient.iterateRandomApods(2, "DEMO_KEY");
+        assertEquals(apod, apods.next());
+        assertEquals(apod, apods.next());
+        assertFalse(apods.hasNext());
+        try (Stream<ApodImage> failed = nasaClient.randomApods(3, "NOT_DEMO_KEY")) {
+            fail("Unsuccessful call should throw instead of streaming " + failed.count() + " elements");
+        } catch (ApiCallException e) {
+            assertEquals(400, e.getStatusCode());
+        }
+    }
+
+    @Test
+    public void batchesConcurrentCallsIntoBulkRequests() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<ApodImage>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String date = "2017-03-0" + (i % 4 + 1);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return nasaClient.windowedApodOf(date, "DEMO_KEY");
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < 8; i++) {
+                assertEquals("2017-03-0" + (i % 4 + 1), results.get(i).get().getTitle());
+            }
+            List<List<String>> bulkRequests = NasaApodMockApi.bulkRequestsOf("2017-03-01");
+            assertEquals(1, bulkRequests.size());
+            assertEquals(Arrays.asList("2017-03-01", "2017-03-02", "2017-03-03", "2017-03-04"),
+                bulkRequests.get(0).stream().sorted().collect(Collectors.toList()));
+        } finally {
+            executor.shutdown();
+        }
+        try {
+            nasaClient.apodOf("2016-01-01", "NOT_DEMO_KEY");
+            fail("Unsuccessful batched call should throw");
+        } catch (ApiCallException e) {
+            assertEquals(400, e.getStatusCode());
+        }
+    }
+
+    @Test
+    public void cachesAndRevalidatesResponses() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        ResponseCacheStats stats = injector.getInstance(ResponseCache.class).getStats();
+        int requestsBefore = NasaApodMockApi.REQUESTS.get();
+
+        ApodImage apod = nasaClient.cachedApod(60, "DEMO_KEY");
+        assertEquals(apod, nasaClient.cachedApod(60, "DEMO_KEY"));
+        assertEquals(1, NasaApodMockApi.REQUESTS.get() - requestsBefore);
+        assertEquals(1, stats.getHitCount());
+
+        assertEquals(apod, nasaClient.cachedApod(0, "DEMO_KEY"));
+        assertEquals(apod, nasaClient.cachedApod(0, "DEMO_KEY"));
+        assertEquals(3, NasaApodMockApi.REQUESTS.get() - requestsBefore);
+        assertEquals(1, stats.getRevalidationCount());
+        assertEquals(2, stats.getMissCount());
+    }
+
+    @Test
+    public void coalescesIdenticalInFlightCalls() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            // a delay of its own, so that only requests of this test are counted
+            int delayMillis = 501;
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<ApodImage>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return nasaClient.popularApod(delayMillis, "DEMO_KEY");
+                }));
+            }
+            start.countDown();
+            ApodImage shared = results.get(0).get();
+            assertNotNull(shared);
+            for (Future<ApodImage> result : results) {
+                assertSame(shared, result.get());
+            }
+            assertEquals(1, NasaApodMockApi.requestsDelayedBy(delayMillis));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void rejectsCallsExceedingRateLimit() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, "local");
+        RateLimitStats stats = apiary.getRateLimitStats(NASA.class.getMethod("limitedApod", int.class, String.class)).get();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ApodImage> slow = executor.submit(() -> nasaClient.limitedApod(1000, "DEMO_KEY"));
+            while (stats.getAdmittedCount() == 0) {
+                Thread.sleep(10);
+            }
+            try {
+                nasaClient.limitedApod(0, "DEMO_KEY");
+                fail("Concurrent call should have been rejected");
+            } catch (RateLimitExceededException e) {
+                assertEquals(1, stats.getRejectedCount());
+            }
+            assertNotNull(slow.get());
+            assertNotNull(nasaClient.limitedApod(0, "DEMO_KEY"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void generatesSameClientForEveryEnvironment() throws Exception {
+        CountingClientGenerator generator = new CountingClientGenerator();
+        Apiary apiary = new Apiary(injector, generator);
+        NASA first = apiary.generateClient(NASA.class, "local");
+        NASA second = apiary.generateClient(NASA.class, "local");
+        NASA live = apiary.generateClient(NASA.class, "live");
+        assertSame(first.getClass(), second.getClass());
+        assertSame(first.getClass(), live.getClass());
+        assertEquals(1, generator.getGenerated());
+        assertEquals("live", apiary.getEnvironment(live).getName());
+        assertNotNull(second.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY"));
+    }
+
+    @Test
+    public void switchesEnvironmentsWithoutRegeneratingClient() throws Exception {
+        Apiary apiary = injector.getInstance(Apiary.class);
+        NASA nasaClient = apiary.generateClient(NASA.class, ClientEnvironment.of("unreachable", "http://localhost:9091"));
+        try {
+            nasaClient.apodOf("2016-01-01", "DEMO_KEY");
+            fail("Calls to unreachable environment should fail");
+        } catch (RuntimeException e) {
+            // expected
+        }
+        apiary.switchEnvironment(nasaClient, "local");
+        assertEquals("local", apiary.getEnvironment(nasaClient).getName());
+        assertNotNull(nasaClient.apodOf("2016-01-01", "DEMO_KEY"));
+    }
+
+    @Test
+    public void generatesClientOnlyOnceForConcurrentCalls() throws Exception {
+        CountingClientGenerator generator = new CountingClientGenerator();
+        Apiary apiary = new Apiary(injector, generator);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Class<?>>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return apiary.generateClientClass(NASA.class, "local");
+                }));
+            }
+            start.countDown();
+            for (Future<Class<?>> result : results) {
+                assertSame(results.get(0).get(), result.get());
+            }
+            assertEquals(1, generator.getGenerated());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void warmsUpClientsInParallel() throws Exception {
+        CountingClientGenerator generator = new CountingClientGenerator();
+        Apiary apiary = new Apiary(injector, generator);
+        apiary.warmUp(ImmutableMultimap.of(NASA.class, "local", NASA.class, "live"), 2);
+        assertEquals(1, generator.getGenerated());
+
+        assertNotNull(apiary.generateClient(NASA.class, "live"));
+        assertEquals(1, generator.getGenerated());
+    }
+
+    /**
+     * Counts the parsers and generators created by a data format.
+     */
+    private static final class CountingJsonFactory extends JsonFactory {
+        private final AtomicInteger parsers = new AtomicInteger();
+        private final AtomicInteger generators = new AtomicInteger();
+
+        @Override
+        public JsonParser createParser(byte[] data, int offset, int length) throws IOException {
+            parsers.incrementAndGet();
+            return super.createParser(data, offset, length);
+        }
+
+        @Override
+        public JsonParser createParser(InputStream in) throws IOException {
+            parsers.incrementAndGet();
+            return super.createParser(in);
+        }
+
+        @Override
+        public JsonGenerator createGenerator(OutputStream out) throws IOException {
+            generators.incrementAndGet();
+            return super.createGenerator(out);
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package io.induct.apiary;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.ning.http.client.AsyncHttpClient;
+import io.induct.apiary.nasa.NASA;
+import io.induct.daniel.ioc.guice.DanielModule;
+import io.induct.http.HttpClient;
+import io.induct.http.ning.NingHttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @since 18.10.2026
+ */
+public class ClientCacheTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private AsyncHttpClient ningClient;
+    private Injector injector;
+    private File cacheDir;
+
+    @Before
+    public void setUp() throws Exception {
+        ningClient = new AsyncHttpClient();
+        injector = Guice.createInjector(new DanielModule(), new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(HttpClient.class).toInstance(new NingHttpClient(ningClient));
+            }
+        });
+        cacheDir = temp.newFolder("cache");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (ningClient != null) {
+            ningClient.close();
+        }
+    }
+
+    @Test
+    public void fingerprintDependsOnTargetAndGenerator() throws Exception {
+        ClientCache cache = new ClientCache(cacheDir.toPath());
+        ClientGenerator generator = new SourceClientGenerator();
+
+        String fingerprint = cache.fingerprint(NASA.class, "a.NASAImpl", generator);
+        assertEquals(fingerprint, cache.fingerprint(NASA.class, "a.NASAImpl", generator));
+        assertNotEquals(fingerprint, cache.fingerprint(NASA.class, "b.NASAImpl", generator));
+        assertNotEquals(fingerprint, cache.fingerprint(NASA.class, "a.NASAImpl", new BytecodeClientGenerator()));
+    }
+
+    @Test
+    public void reusesCachedClientAcrossApiaryInstances() throws Exception {
+        CountingClientGenerator generator = new CountingClientGenerator();
+        newApiary(generator).generateClient(NASA.class, "local");
+        NASA cached = newApiary(generator).generateClient(NASA.class, "local");
+
+        assertNotNull(cached);
+        assertEquals(1, generator.getGenerated());
+    }
+
+    @Test
+    public void regeneratesCorruptEntries() throws Exception {
+        CountingClientGenerator generator = new CountingClientGenerator();
+        newApiary(generator).generateClient(NASA.class, "local");
+        try (Stream<Path> entries = Files.list(cacheDir.toPath())) {
+            for (Path entry : (Iterable<Path>) entries::iterator) {
+                byte[] content = Files.readAllBytes(entry);
+                content[content.length / 2] ^= 0x55;
+                Files.write(entry, content);
+            }
+        }
+
+        assertNotNull(newApiary(generator).generateClient(NASA.class, "local"));
+        assertEquals(2, generator.getGenerated());
+        assertNotNull(newApiary(generator).generateClient(NASA.class, "local"));
+        assertEquals(2, generator.getGenerated());
+    }
+
+    private Apiary newApiary(ClientGenerator generator) {
+        Apiary apiary = new Apiary(injector, generator);
+        apiary.setCacheDir(cacheDir.toString());
+        return apiary;
+    }
+}
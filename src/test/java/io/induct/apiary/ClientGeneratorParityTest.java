@@ -0,0 +1,152 @@
+package io.induct.apiary;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.multibindings.Multibinder;
+import com.ning.http.client.AsyncHttpClient;
+import io.induct.apiary.nasa.ApodImage;
+import io.induct.apiary.nasa.NASA;
+import io.induct.daniel.ioc.guice.DanielModule;
+import io.induct.http.HttpClient;
+import io.induct.http.ning.NingHttpClient;
+import org.junit.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that {@link BytecodeClientGenerator} produces clients which behave identically to the ones produced by the
+ * reference {@link SourceClientGenerator}.
+ *
+ * @since 18.10.2026
+ */
+public class ClientGeneratorParityTest {
+
+    @ClassRule
+    public static TestingHttpServer server = new TestingHttpServer();
+
+    private AsyncHttpClient ningClient;
+
+    private NASA reference;
+    private NASA bytecode;
+
+    @Before
+    public void setUp() throws Exception {
+        ningClient = new AsyncHttpClient();
+
+        Injector injector = Guice.createInjector(new DanielModule(), new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(HttpClient.class).toInstance(new NingHttpClient(ningClient));
+                Multibinder<Module> jacksonModules = Multibinder.newSetBinder(binder(), Module.class);
+                jacksonModules.addBinding().toInstance(new ParameterNamesModule());
+            }
+        });
+        reference = new Apiary(injector, new SourceClientGenerator()).generateClient(NASA.class, "local");
+        bytecode = new Apiary(injector, new BytecodeClientGenerator()).generateClient(NASA.class, "local");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (ningClient != null) {
+            ningClient.close();
+        }
+    }
+
+    @Test
+    public void generatesSameClientStructure() throws Exception {
+        assertTrue(bytecode instanceof ApiClient);
+        assertEquals(reference.getClass().getName(), bytecode.getClass().getName());
+        assertArrayEquals(reference.getClass().getInterfaces(), bytecode.getClass().getInterfaces());
+        assertEquals(
+            reference.getClass().getDeclaredMethod("apod", Optional.class, Optional.class, Optional.class, String.class).getReturnType(),
+            bytecode.getClass().getDeclaredMethod("apod", Optional.class, Optional.class, Optional.class, String.class).getReturnType());
+    }
+
+    @Test
+    public void returnsSameResponseWithAbsentOptionals() throws Exception {
+        ApodImage expected = reference.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY");
+        assertNotNull(expected);
+        assertEquals(expected, bytecode.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY"));
+    }
+
+    @Test
+    public void returnsSameResponseWithPresentOptionals() throws Exception {
+        Optional<LocalDate> date = Optional.of(LocalDate.of(2016, 1, 1));
+        ApodImage expected = reference.apod(date, Optional.of(true), Optional.of(false), "DEMO_KEY");
+        assertNotNull(expected);
+        assertEquals(expected, bytecode.apod(date, Optional.of(true), Optional.of(false), "DEMO_KEY"));
+    }
+
+    @Test
+    public void returnsSameResponseFromPathVariables() throws Exception {
+        ApodImage expected = reference.apodOn(LocalDate.of(2016, 1, 1), "DEMO_KEY");
+        assertNotNull(expected);
+        assertEquals(expected, bytecode.apodOn(LocalDate.of(2016, 1, 1), "DEMO_KEY"));
+    }
+
+    @Test
+    public void sendsSameRequestBodies() throws Exception {
+        ApodImage apod = reference.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY");
+        assertEquals(reference.uploadApod(apod, "DEMO_KEY"), bytecode.uploadApod(apod, "DEMO_KEY"));
+    }
+
+    @Test
+    public void returnsSameResponseFromAsynchronousCalls() throws Exception {
+        ApodImage expected = reference.apodAsync(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY").get(5, TimeUnit.SECONDS);
+        assertNotNull(expected);
+        assertEquals(expected, bytecode.apodAsync(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void streamsSameElements() throws Exception {
+        try (Stream<ApodImage> expected = reference.randomApods(2, "DEMO_KEY"); Stream<ApodImage> actual = bytecode.randomApods(2, "DEMO_KEY")) {
+            assertEquals(expected.collect(Collectors.toList()), actual.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void deserializesSameGenericResponses() throws Exception {
+        List<ApodImage> expected = reference.listRandomApods(2, "DEMO_KEY");
+        assertEquals(2, expected.size());
+        assertTrue(expected.get(0) instanceof ApodImage);
+        assertEquals(expected, bytecode.listRandomApods(2, "DEMO_KEY"));
+    }
+
+    @Test
+    public void callsVoidAndPrimitiveApis() throws Exception {
+        ApodImage apod = reference.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY");
+        reference.submitApod(apod, "DEMO_KEY");
+        bytecode.submitApod(apod, "DEMO_KEY");
+        assertEquals(42, reference.echoCount(42, "DEMO_KEY"));
+        assertEquals(42, bytecode.echoCount(42, "DEMO_KEY"));
+    }
+
+    @Test
+    public void returnsSameApiResponses() throws Exception {
+        assertEquals(reference.apodResponse("NOT_DEMO_KEY").getStatusCode(), bytecode.apodResponse("NOT_DEMO_KEY").getStatusCode());
+        assertEquals(reference.apodResponse("DEMO_KEY").getBody(), bytecode.apodResponse("DEMO_KEY").getBody());
+    }
+
+    @Test
+    public void returnsSameResponseOnFailedCall() throws Exception {
+        for (NASA client : new NASA[] {reference, bytecode}) {
+            try {
+                client.apod(Optional.empty(), Optional.empty(), Optional.empty(), "NOT_DEMO_KEY");
+                fail("Unsuccessful call should throw");
+            } catch (ApiCallException e) {
+                assertEquals(400, e.getStatusCode());
+            }
+            assertNull(client.lenientApod("NOT_DEMO_KEY"));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.induct.apiary;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.multibindings.Multibinder;
+import com.ning.http.client.AsyncHttpClient;
+import io.induct.daniel.ioc.guice.DanielModule;
+import io.induct.http.HttpClient;
+import io.induct.http.ning.NingHttpClient;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @since 18.10.2026
+ */
+public class ClientProcessorTest {
+
+    @ClassRule
+    public static TestingHttpServer server = new TestingHttpServer();
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private static final String APOD_SOURCE = "package io.induct.apiary.pregenerated;\n"
+        + "import com.google.common.base.CaseFormat;\n"
+        + "import io.induct.apiary.Api;\n"
+        + "import io.induct.apiary.Client;\n"
+        + "import java.util.Map;\n"
+        + "@Client(paramFormat = CaseFormat.LOWER_UNDERSCORE, environments = {\n"
+        + "    @Client.Environment(name = \"local\", root = \"http://localhost:9090\"),\n"
+        + "    @Client.Environment(name = \"live-eu\", root = \"https://api.nasa.gov\")\n"
+        + "})\n"
+        + "public interface Apod {\n"
+        + "    @Api(path = \"/planetary/apod\")\n"
+        + "    Map apod(String apiKey);\n"
+        + "    @Api(path = \"/planetary/\\\"apod\\\"\\\\\")\n"
+        + "    Map quotedApod(String apiKey);\n"
+        + "}\n";
+
+    private AsyncHttpClient ningClient;
+    private Injector injector;
+
+    @Before
+    public void setUp() throws Exception {
+        ningClient = new AsyncHttpClient();
+        injector = Guice.createInjector(new DanielModule(), new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(HttpClient.class).toInstance(new NingHttpClient(ningClient));
+                Multibinder<Module> jacksonModules = Multibinder.newSetBinder(binder(), Module.class);
+                jacksonModules.addBinding().toInstance(new ParameterNamesModule());
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (ningClient != null) {
+            ningClient.close();
+        }
+    }
+
+    @Test
+    public void pregeneratesOneClientForAllEnvironments() throws Exception {
+        File classes = compileWithProcessor();
+        assertTrue(new File(classes, "io/induct/apiary/pregenerated/impl/ApodClient_Pregenerated.class").exists());
+        assertFalse(new File(classes, "io/induct/apiary/pregenerated/impl/ApodClient_local.class").exists());
+    }
+
+    @Test
+    public void generateClientUsesPregeneratedClass() throws Exception {
+        File classes = compileWithProcessor();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader())) {
+            Class<?> apiDefiningInterface = loader.loadClass("io.induct.apiary.pregenerated.Apod");
+            Object client = new Apiary(injector, new UnusableGenerator()).generateClient(apiDefiningInterface, "local");
+
+            assertEquals("io.induct.apiary.pregenerated.impl.ApodClient_Pregenerated", client.getClass().getName());
+            Map<?, ?> apod = (Map<?, ?>) apiDefiningInterface.getMethod("apod", String.class).invoke(client, "DEMO_KEY");
+            assertEquals("Comets and Bright Star", apod.get("title"));
+        }
+    }
+
+    private File compileWithProcessor() throws Exception {
+        File sources = temp.newFolder("src");
+        File classes = temp.newFolder("classes");
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics,
+            Arrays.asList("-classpath", System.getProperty("java.class.path"), "-parameters", "-d", classes.toString(), "-s", sources.toString()),
+            null,
+            Collections.singletonList(new InMemoryFileManager.Source("io.induct.apiary.pregenerated.Apod", APOD_SOURCE)));
+        task.setProcessors(Collections.singletonList(new ClientProcessor()));
+        assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+        return classes;
+    }
+
+    private static class UnusableGenerator implements ClientGenerator {
+        @Override
+        public GeneratedClient generate(Class<?> apiDefiningInterface, String targetFqn) {
+            throw new AssertionError("Runtime generation should not be used for pregenerated clients");
+        }
+    }
+}
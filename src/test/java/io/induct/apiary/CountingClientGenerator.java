@@ -0,0 +1,23 @@
+package io.induct.apiary;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts how many times clients have actually been generated.
+ *
+ * @since 18.10.2026
+ */
+public class CountingClientGenerator implements ClientGenerator {
+    private final AtomicInteger generated = new AtomicInteger();
+    private final ClientGenerator delegate = new BytecodeClientGenerator();
+
+    @Override
+    public GeneratedClient generate(Class<?> apiDefiningInterface, String targetFqn) {
+        generated.incrementAndGet();
+        return delegate.generate(apiDefiningInterface, targetFqn);
+    }
+
+    public int getGenerated() {
+        return generated.get();
+    }
+}
@@ -0,0 +1,59 @@
+package io.induct.apiary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableListMultimap;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @since 18.10.2026
+ */
+public class ResponseBodyTest {
+
+    private final ObjectReader reader = new ObjectMapper().reader().forType(Map.class);
+
+    @Test
+    public void decompressesGzippedBodies() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write("{\"title\":\"Moon\"}".getBytes(Charsets.UTF_8));
+        }
+        ImmutableListMultimap<String, String> headers = ImmutableListMultimap.of("content-encoding", "gzip");
+
+        Map<?, ?> buffered = ResponseBody.of(compressed.toByteArray(), headers).get().read(reader);
+        assertEquals("Moon", buffered.get("title"));
+        Optional<InputStream> stream = Optional.of(new ByteArrayInputStream(compressed.toByteArray()));
+        Map<?, ?> streamed = ResponseBody.of(stream, headers).get().read(reader);
+        assertEquals("Moon", streamed.get("title"));
+    }
+
+    @Test
+    public void buffersBodiesLargerThanRecycledBuffer() throws Exception {
+        StringBuilder json = new StringBuilder("{\"title\":\"");
+        for (int i = 0; i < 20000; i++) {
+            json.append('x');
+        }
+        byte[] bytes = json.append("\"}").toString().getBytes(Charsets.UTF_8);
+        Optional<InputStream> stream = Optional.of(new ByteArrayInputStream(bytes));
+
+        ResponseBody buffered = ResponseBody.of(stream, ImmutableListMultimap.of()).get().buffered();
+        assertEquals(bytes.length, buffered.length());
+        assertArrayEquals(bytes, buffered.toByteArray());
+    }
+
+    @Test
+    public void skipsEmptyBodies() throws Exception {
+        assertFalse(ResponseBody.of(Optional.of(new ByteArrayInputStream(new byte[0])), ImmutableListMultimap.of()).isPresent());
+        assertFalse(ResponseBody.of(new byte[0], ImmutableListMultimap.of()).isPresent());
+    }
+}
@@ -0,0 +1,202 @@
+package io.induct.apiary;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Names;
+import com.ning.http.client.AsyncHttpClient;
+import io.induct.apiary.nasa.ApodError;
+import io.induct.apiary.nasa.ApodImage;
+import io.induct.apiary.nasa.NASA;
+import io.induct.daniel.ioc.guice.DanielModule;
+import io.induct.http.ning.NingHttpClient;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.ByteArrayInputStream;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs the same calls through every built-in {@link Transport} against the mock NASA API.
+ *
+ * @since 18.10.2026
+ */
+@RunWith(Parameterized.class)
+public class TransportContractTest {
+
+    @ClassRule
+    public static TestingHttpServer server = new TestingHttpServer();
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> transports() {
+        List<Object[]> transports = new ArrayList<>();
+        transports.add(new Object[] {"induct"});
+        transports.add(new Object[] {"ning"});
+        if (JdkHttpTransport.isSupported()) {
+            transports.add(new Object[] {"jdk"});
+        }
+        return transports;
+    }
+
+    @Parameterized.Parameter
+    public String backend;
+
+    private AsyncHttpClient ningClient;
+    private Transport transport;
+    private Injector injector;
+    private NASA nasaClient;
+
+    @Before
+    public void setUp() throws Exception {
+        ningClient = new AsyncHttpClient();
+        switch (backend) {
+            case "induct":
+                transport = new InductTransport(new NingHttpClient(ningClient));
+                break;
+            case "ning":
+                transport = new NingTransport(ningClient);
+                break;
+            default:
+                transport = new JdkHttpTransport();
+        }
+        String generatedDir = temp.newFolder().toString();
+        injector = Guice.createInjector(new DanielModule(), new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(Transport.class).toInstance(transport);
+                bind(Apiary.class);
+                Multibinder.newSetBinder(binder(), Module.class).addBinding().toInstance(new ParameterNamesModule());
+                bind(String.class).annotatedWith(Names.named(Apiary.GENERATED_DIR_KEY)).toInstance(generatedDir);
+            }
+        });
+        nasaClient = injector.getInstance(Apiary.class).generateClient(NASA.class, "local");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (transport instanceof AutoCloseable) {
+            ((AutoCloseable) transport).close();
+        }
+        ningClient.close();
+    }
+
+    @Test
+    public void callsApis() throws Exception {
+        ApodImage apod = nasaClient.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY");
+        assertNotNull(apod);
+        assertEquals(apod, nasaClient.apodAsync(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY").get(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(apod, apod), nasaClient.listRandomApods(2, "DEMO_KEY"));
+        try (Stream<ApodImage> apods = nasaClient.randomApods(3, "DEMO_KEY")) {
+            assertEquals(Collections.nCopies(3, apod), apods.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void returnsUnsuccessfulResponses() throws Exception {
+        ApiResponse<ApodImage> failure = nasaClient.apodResponse("NOT_DEMO_KEY");
+        assertEquals(400, failure.getStatusCode());
+        assertFalse(failure.getBody().isPresent());
+        assertEquals(new ApodError("You must define api_key=DEMO_KEY as parameter"), failure.getError(ApodError.class).get());
+        try {
+            nasaClient.apodAsync(Optional.empty(), Optional.empty(), Optional.empty(), "NOT_DEMO_KEY").get(5, TimeUnit.SECONDS);
+            fail("Unsuccessful call should complete exceptionally");
+        } catch (ExecutionException e) {
+            assertEquals(400, ((ApiCallException) e.getCause()).getStatusCode());
+        }
+        assertNull(nasaClient.lenientApod("NOT_DEMO_KEY"));
+    }
+
+    @Test
+    public void sendsRequestBodies() throws Exception {
+        ApodImage apod = nasaClient.apod(Optional.empty(), Optional.empty(), Optional.empty(), "DEMO_KEY");
+        assertEquals(apod, nasaClient.uploadApod(apod, "DEMO_KEY"));
+        byte[] json = injector.getInstance(ObjectMapper.class).writeValueAsBytes(apod);
+        assertEquals(apod, nasaClient.uploadApodAsync(json, "DEMO_KEY").get(5, TimeUnit.SECONDS));
+        try {
+            assertEquals(apod, nasaClient.patchApod(new ByteArrayInputStream(json), "DEMO_KEY"));
+            if ("induct".equals(backend)) {
+                fail("The induct HttpClient has no PATCH");
+            }
+        } catch (ApiaryException e) {
+            // the induct HttpClient has no PATCH
+            assertEquals("induct", backend);
+        }
+    }
+
+    @Test
+    public void completesCallsBeyondConnectionLimits() throws Exception {
+        ConnectionPool pool = pool(1, 1);
+        Transport pooled = transport.configure(pool);
+        assertSame(pooled, transport.configure(pool));
+        List<CompletableFuture<TransportResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            responses.add(pooled.executeAsync(new TransportRequest(HttpMethod.GET, "http://localhost:9090/planetary/apod",
+                    ImmutableMultimap.of("api_key", "DEMO_KEY"), ImmutableMultimap.of(), null)));
+        }
+        for (CompletableFuture<TransportResponse> response : responses) {
+            try (TransportResponse received = response.get(5, TimeUnit.SECONDS)) {
+                assertEquals(200, received.getStatusCode());
+                if (!received.body().isPresent()) {
+                    fail("Response body should be received");
+                }
+            }
+        }
+    }
+
+    private static ConnectionPool pool(int maxConnections, int maxStreamsPerConnection) {
+        return new ConnectionPool() {
+            @Override
+            public int maxConnections() {
+                return maxConnections;
+            }
+
+            @Override
+            public long keepAliveMillis() {
+                return 0;
+            }
+
+            @Override
+            public int maxStreamsPerConnection() {
+                return maxStreamsPerConnection;
+            }
+
+            @Override
+            public boolean http2() {
+                return true;
+            }
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return ConnectionPool.class;
+            }
+        };
+    }
+}
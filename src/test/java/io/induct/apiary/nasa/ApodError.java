@@ -0,0 +1,13 @@
+package io.induct.apiary.nasa;
+
+import lombok.Value;
+
+/**
+ * Error body of NASA's APOD API.
+ *
+ * @since 18.10.2026
+ */
+@Value
+public class ApodError {
+    String error;
+}
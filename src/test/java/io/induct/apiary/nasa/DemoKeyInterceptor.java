@@ -0,0 +1,43 @@
+package io.induct.apiary.nasa;
+
+import com.google.common.collect.Multimap;
+import io.induct.apiary.ApiInterceptor;
+import io.induct.apiary.ApiRequest;
+
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Authenticates calls with the demo key of the mock API, or another one set by tests, and counts their successful
+ * responses.
+ *
+ * @since 18.10.2026
+ */
+@Singleton
+public class DemoKeyInterceptor implements ApiInterceptor {
+    private final AtomicInteger successes = new AtomicInteger();
+    private volatile String apiKey = "DEMO_KEY";
+
+    @Override
+    public void onRequest(ApiRequest request) {
+        request.param("api_key", apiKey);
+    }
+
+    @Override
+    public void onResponse(ApiRequest request, int statusCode, Multimap<String, String> headers, long elapsedNanos) {
+        if (statusCode == 200) {
+            successes.incrementAndGet();
+        }
+    }
+
+    /**
+     * Switches the key subsequent calls are authenticated with.
+     */
+    public void setApiKey(String apiKey) {
+        this.apiKey = apiKey;
+    }
+
+    public int getSuccesses() {
+        return successes.get();
+    }
+}
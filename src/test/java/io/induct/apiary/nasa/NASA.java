@@ -3,9 +3,22 @@ package io.induct.apiary.nasa;
 import com.google.common.base.CaseFormat;
 import io.induct.apiary.Client;
 import io.induct.apiary.Api;
+import io.induct.apiary.ApiResponse;
+import io.induct.apiary.Body;
+import io.induct.apiary.CallPolicy;
+import io.induct.apiary.DataFormat;
+import io.induct.apiary.HostEjection;
+import io.induct.apiary.HttpMethod;
+import io.induct.apiary.RateLimit;
 
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import static io.induct.apiary.Client.Environment;
 
@@ -20,15 +33,109 @@ import static io.induct.apiary.Client.Environment;
     targetClassName = "${clientName}Impl",
     environments = {
         @Environment(name = "local", root = "http://localhost:9090"),
-        @Environment(name = "live", root = "https://api.nasa.gov")
+        @Environment(name = "live", root = "https://api.nasa.gov"),
+        @Environment(name = "replicated", roots = {"http://localhost:9091", "http://localhost:9090"}, ejection = @HostEjection(consecutiveFailures = 1))
     }
 )
 public interface NASA {
 
+    /**
+     * Vendor specific media type {@link NasaApodMockApi} serves APODs in when accepted.
+     */
+    String APOD_JSON = "application/vnd.nasa.apod+json";
+
     @Api(path = "/planetary/apod")
     ApodImage apod(
         Optional<LocalDate> date,
         Optional<Boolean> conceptTags,
         Optional<Boolean> hd,
         String apiKey);
+
+    @Api(path = "/planetary/apod")
+    CompletableFuture<ApodImage> apodAsync(
+        Optional<LocalDate> date,
+        Optional<Boolean> conceptTags,
+        Optional<Boolean> hd,
+        String apiKey);
+
+    @Api(path = "/planetary/apod", errorType = ApodError.class)
+    ApodImage strictApod(String apiKey);
+
+    @Api(path = "/planetary/apod", nullOnFailure = true)
+    ApodImage lenientApod(String apiKey);
+
+    @Api(path = "/planetary/apod", errorType = ApodError.class)
+    ApiResponse<ApodImage> apodResponse(String apiKey);
+
+    @Api(path = "/planetary/apod/{date}")
+    ApodImage apodOn(LocalDate date, String apiKey);
+
+    @Api(path = "/planetary/apod", method = HttpMethod.POST)
+    ApodImage uploadApod(@Body ApodImage apod, String apiKey);
+
+    @Api(path = "/planetary/apod", method = HttpMethod.POST)
+    void submitApod(@Body ApodImage apod, String apiKey);
+
+    @Api(path = "/planetary/apod", method = HttpMethod.POST)
+    int echoCount(@Body int count, String apiKey);
+
+    @Api(path = "/planetary/apod", method = HttpMethod.PUT)
+    CompletableFuture<ApodImage> uploadApodAsync(@Body byte[] apod, String apiKey);
+
+    @Api(path = "/planetary/apod", method = HttpMethod.PATCH)
+    ApodImage patchApod(@Body InputStream apod, String apiKey);
+
+    @Api(path = "/planetary/apod", accept = {APOD_JSON, DataFormat.JSON})
+    ApodImage negotiatedApod(String apiKey);
+
+    @Api(path = "/planetary/apod", method = HttpMethod.POST, accept = APOD_JSON, contentType = APOD_JSON)
+    ApodImage uploadNegotiatedApod(@Body ApodImage apod, String apiKey);
+
+    @Api(path = "/planetary/apod", batch = @Api.Batch(param = "dates", windowMillis = 50))
+    ApodImage apodOf(String dates, String apiKey);
+
+    /**
+     * Batched with a window long enough for every concurrent call of a test to join the same batch.
+     */
+    @Api(path = "/planetary/apod", batch = @Api.Batch(param = "dates", windowMillis = 1000))
+    ApodImage windowedApodOf(String dates, String apiKey);
+
+    @Api(path = "/planetary/apod", cache = @Api.Cache)
+    ApodImage cachedApod(int maxAge, String apiKey);
+
+    @Api(path = "/planetary/apod", cache = @Api.Cache(defaultTtlMillis = 60000, immutable = true))
+    ApodImage sharedApod(String apiKey);
+
+    @Api(path = "/planetary/apod", cache = @Api.Cache(defaultTtlMillis = 60000, immutable = true))
+    Map<String, Object> sharedApod(Optional<String> apiKey);
+
+    @Api(path = "/planetary/apod", coalesce = true)
+    ApodImage popularApod(int delayMillis, String apiKey);
+
+    @Api(path = "/planetary/apod", rateLimit = @RateLimit(maxConcurrent = 1))
+    ApodImage limitedApod(int delayMillis, String apiKey);
+
+    @Api(path = "/planetary/apod", policy = @CallPolicy(maxRetries = 2, backoffMillis = 10))
+    ApodImage retriedApod(String failFirst, String apiKey);
+
+    @Api(path = "/planetary/apod", policy = @CallPolicy(timeoutMillis = 200))
+    ApodImage deadlinedApod(int delayMillis, String apiKey);
+
+    @Api(path = "/planetary/apod", policy = @CallPolicy(hedge = true, hedgeDelayMillis = 100))
+    ApodImage hedgedApod(String slowFirst, String apiKey);
+
+    @Api(path = "/planetary/apod", interceptors = DemoKeyInterceptor.class)
+    ApodImage authenticatedApod();
+
+    @Api(path = "/planetary/apod", cache = @Api.Cache(defaultTtlMillis = 60000), interceptors = DemoKeyInterceptor.class)
+    ApodImage cachedAuthenticatedApod();
+
+    @Api(path = "/planetary/apod")
+    Stream<ApodImage> randomApods(int count, String apiKey);
+
+    @Api(path = "/planetary/apod")
+    List<ApodImage> listRandomApods(int count, String apiKey);
+
+    @Api(path = "/planetary/apod")
+    Iterator<ApodImage> iterateRandomApods(int count, String apiKey);
 }
@@ -1,11 +1,24 @@
 package io.induct.apiary.nasa;
 
 import com.google.common.base.Charsets;
+import com.google.common.io.ByteStreams;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Behaves like NASA's APOD API
@@ -14,6 +27,57 @@ import java.util.Deque;
  */
 public class NasaApodMockApi implements HttpHandler {
 
+    /**
+     * Number of successfully served requests, including revalidations.
+     */
+    public static final AtomicInteger REQUESTS = new AtomicInteger();
+
+    /**
+     * Number of requests received per <code>delay_millis</code> value, which lets tests count requests of their own
+     * regardless of late requests of earlier tests.
+     */
+    private static final ConcurrentMap<String, AtomicInteger> DELAYED_REQUESTS = new ConcurrentHashMap<>();
+
+    /**
+     * Values of the <code>dates</code> parameter of bulk requests received so far.
+     */
+    private static final Queue<String> BULK_DATES = new ConcurrentLinkedQueue<>();
+
+    private static final String APOD_ETAG = "\"apod-2016-01-01\"";
+
+    private static final String APOD = "{\"url\": \"http://apod.nasa.gov/apod/image/1601/CatalinaBorrellyArcturus2016-01-01_Hemmerich600w.jpg\", \"media_type\": \"image\", \"explanation\": \"This timely, telescopic, two panel mosaic spans about 10 full moons across planet Earth's predawn skies. Recorded as the year began from Tenerife, Canary Islands, near the top of the frame are the faint coma and tail of Comet Borrelly (P/19). A comet with a seven year orbital period, Borrelly's nucleus was visited by the ion propelled spacecraft Deep Space 1 near the beginning of the 21st century. Anchoring the scene at the bottom is brilliant star Arcturus (Alpha Bootes) and Comet Catalina (C/2013 US10) a first time visitor from the Oort Cloud. Catalina's yellowish dust tail extends below and right. Buffeted by winds and storms from the Sun, the comet's complex ion tail sweeps up and toward the right, across most of the field of view. Remarkably, one of the composition's 30 second exposure subframes also caught the trail of a bright meteor, slashing toward the left between comets and bright star.\", \"concepts\": [], \"title\": \"Comets and Bright Star\"}";
+
+    /**
+     * @return Number of requests received so far with given <code>delay_millis</code>.
+     */
+    public static int requestsDelayedBy(int delayMillis) {
+        AtomicInteger requests = DELAYED_REQUESTS.get(Integer.toString(delayMillis));
+        return requests != null ? requests.get() : 0;
+    }
+
+    /**
+     * @return Requested dates of every bulk request received so far which requested given date.
+     */
+    public static List<List<String>> bulkRequestsOf(String date) {
+        return BULK_DATES.stream()
+            .map(dates -> Arrays.asList(dates.split(",")))
+            .filter(dates -> dates.contains(date))
+            .collect(Collectors.toList());
+    }
+
+    private final ConcurrentMap<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+
+    /**
+     * @return Number of requests so far with the same value of given parameter, or zero if it isn't present.
+     */
+    private int attemptOf(HttpServerExchange exchange, String param) {
+        Deque<String> keys = exchange.getQueryParameters().get(param);
+        if (keys == null || keys.isEmpty()) {
+            return 0;
+        }
+        return attempts.computeIfAbsent(param + keys.getFirst(), key -> new AtomicInteger()).incrementAndGet();
+    }
+
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
         if (exchange.isInIoThread()) {
@@ -30,9 +94,61 @@ public class NasaApodMockApi implements HttpHandler {
             if (!apiKey.equals("DEMO_KEY")) {
                 exchange.setStatusCode(400);
                 exchange.getResponseSender().send("{\"error\":\"You must define api_key=DEMO_KEY as parameter\"}");
+            } else if (!exchange.getRequestMethod().equals(Methods.GET)) {
+                // echoes uploaded APODs back in the format they were sent in
+                String contentType = exchange.getRequestHeaders().getFirst(Headers.CONTENT_TYPE);
+                if (contentType != null) {
+                    exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, contentType);
+                }
+                exchange.startBlocking();
+                byte[] upload = ByteStreams.toByteArray(exchange.getInputStream());
+                REQUESTS.incrementAndGet();
+                exchange.getResponseSender().send(ByteBuffer.wrap(upload));
+            } else if (APOD_ETAG.equals(exchange.getRequestHeaders().getFirst(Headers.IF_NONE_MATCH))) {
+                REQUESTS.incrementAndGet();
+                exchange.setStatusCode(304);
+                exchange.endExchange();
+            } else if (attemptOf(exchange, "fail_first") == 1) {
+                // first attempt of each key fails with a retryable status
+                exchange.setStatusCode(503);
+                exchange.endExchange();
             } else {
+                if (attemptOf(exchange, "slow_first") == 1) {
+                    // first attempt of each key is slow enough to be hedged
+                    Thread.sleep(2000);
+                }
+                Deque<String> delays = exchange.getQueryParameters().get("delay_millis");
+                if (delays != null && !delays.isEmpty()) {
+                    DELAYED_REQUESTS.computeIfAbsent(delays.getFirst(), delay -> new AtomicInteger()).incrementAndGet();
+                    Thread.sleep(Long.parseLong(delays.getFirst()));
+                }
+                Deque<String> maxAges = exchange.getQueryParameters().get("max_age");
+                if (maxAges != null && !maxAges.isEmpty()) {
+                    exchange.getResponseHeaders().put(Headers.CACHE_CONTROL, "max-age=" + maxAges.getFirst());
+                    exchange.getResponseHeaders().put(Headers.ETAG, APOD_ETAG);
+                }
+                Deque<String> counts = exchange.getQueryParameters().get("count");
+                Deque<String> dates = exchange.getQueryParameters().get("dates");
+                String pathDate = exchange.getRelativePath().replaceFirst("^/", "");
+                String response = APOD;
+                if (!pathDate.isEmpty()) {
+                    response = APOD.replace("\"title\": \"Comets and Bright Star\"", "\"title\": \"" + pathDate + "\"");
+                } else if (counts != null && !counts.isEmpty()) {
+                    response = "[" + String.join(",", Collections.nCopies(Integer.parseInt(counts.getFirst()), APOD)) + "]";
+                } else if (dates != null && !dates.isEmpty()) {
+                    // bulk form, one APOD titled by its date per requested date
+                    BULK_DATES.add(dates.getFirst());
+                    response = "[" + Stream.of(dates.getFirst().split(","))
+                        .map(date -> APOD.replace("\"title\": \"Comets and Bright Star\"", "\"title\": \"" + date + "\""))
+                        .collect(Collectors.joining(",")) + "]";
+                }
+                String accept = exchange.getRequestHeaders().getFirst(Headers.ACCEPT);
+                if (accept != null && accept.startsWith(NASA.APOD_JSON)) {
+                    exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, NASA.APOD_JSON);
+                }
+                REQUESTS.incrementAndGet();
                 exchange.getResponseSender()
-                    .send(ByteBuffer.wrap("{\"url\": \"http://apod.nasa.gov/apod/image/1601/CatalinaBorrellyArcturus2016-01-01_Hemmerich600w.jpg\", \"media_type\": \"image\", \"explanation\": \"This timely, telescopic, two panel mosaic spans about 10 full moons across planet Earth's predawn skies. Recorded as the year began from Tenerife, Canary Islands, near the top of the frame are the faint coma and tail of Comet Borrelly (P/19). A comet with a seven year orbital period, Borrelly's nucleus was visited by the ion propelled spacecraft Deep Space 1 near the beginning of the 21st century. Anchoring the scene at the bottom is brilliant star Arcturus (Alpha Bootes) and Comet Catalina (C/2013 US10) a first time visitor from the Oort Cloud. Catalina's yellowish dust tail extends below and right. Buffeted by winds and storms from the Sun, the comet's complex ion tail sweeps up and toward the right, across most of the field of view. Remarkably, one of the composition's 30 second exposure subframes also caught the trail of a bright meteor, slashing toward the left between comets and bright star.\", \"concepts\": [], \"title\": \"Comets and Bright Star\"}".getBytes(Charsets.UTF_8)));
+                    .send(ByteBuffer.wrap(response.getBytes(Charsets.UTF_8)));
             }
         }
 